@@ -1,7 +1,9 @@
 package com.peek;
 
 import com.peek.command.PeekCommand;
+import com.peek.command.suggestion.SuggestionEligibilityCache;
 import com.peek.config.ModConfigManager;
+import com.peek.data.GlobalDataManager;
 import com.peek.data.PeekDataStorage;
 import com.peek.manager.*;
 import com.peek.placeholders.Placeholders;
@@ -13,7 +15,9 @@ import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
 
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -29,6 +33,7 @@ public class PeekMod implements ModInitializer {
 	@Override
 	public void onInitialize() {
 		ModConfigManager.loadConfig();
+		ParticleEffectManager.reloadProfiles();
 		ModMetadataHolder.load();
 
 		// Register PlayerDataAPI storage
@@ -57,26 +62,48 @@ public class PeekMod implements ModInitializer {
 				// Set server references for all managers
 				registry.setServer(server);
 				
+				// Start background persistence before any manager loads or changes global data
+				GlobalDataManager.start(server);
+				
+				// Load statistics into memory once; later reads never touch disk
+				registry.getManager(PeekStatisticsManager.class).start(server);
+				
 				LOGGER.debug("Peek mod initialized successfully with ManagerRegistry");
 			} catch (Exception e) {
 				LOGGER.error("Failed to initialize peek mod", e);
 			}
 		});
 
+		// Resolve world ids once per world instead of hashing world keys on every session check
+		ServerWorldEvents.LOAD.register((server, world) -> WorldIds.register(world));
+		ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+			WorldIds.clear();
+			PlayerNameIndex.clear();
+			SuggestionEligibilityCache.getInstance().clear();
+		});
+
+		// Re-check sessions as soon as a peeker or target changes dimension
+		ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> {
+			try {
+				ManagerRegistry.getInstance().getManager(PeekSessionManager.class).onPlayerChangedWorld(player);
+			} catch (Exception e) {
+				LOGGER.error("Error re-checking sessions after dimension change for {}", ProfileCompat.getName(player.getGameProfile()), e);
+			}
+		});
+
 		// Register server tick event for session updates, delayed teleportation, and request handling
 		ServerTickEvents.END_SERVER_TICK.register(server -> {
 			try {
-				ManagerRegistry registry = ManagerRegistry.getInstance();
-				registry.getManager(PeekSessionManager.class).onServerTick();
-				registry.getManager(PeekRequestManager.class).onServerTick();
-				
-				// Process delayed tasks
-				TickTaskManager.getInstance().processTick();
+				// Single pass over all scheduled work, including the global delayed tasks
+				ManagerRegistry.getInstance().getManager(TickScheduler.class).onServerTick();
 			} catch (Exception e) {
 				LOGGER.error("Error during server tick processing", e);
 			}
 		});
 
+		// Save changed global data alongside each world save, off the tick thread
+		ServerLifecycleEvents.AFTER_SAVE.register((server, flush, force) -> GlobalDataManager.requestSave());
+
 		ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
 			try {
 				LOGGER.info("Server stopping - cleaning up all active sessions and restoring player states");
@@ -100,6 +127,9 @@ public class PeekMod implements ModInitializer {
 				registry.getManager(PeekSessionManager.class).shutdown();
 				registry.getManager(PeekStatisticsManager.class).saveAndShutdown();
 				
+				// Write global data still pending after the managers' last changes
+				GlobalDataManager.shutdown();
+				
 				LOGGER.info("Peek mod shutdown successfully with session cleanup");
 			} catch (Exception e) {
 				LOGGER.error("Failed to shutdown peek mod", e);
@@ -111,6 +141,10 @@ public class PeekMod implements ModInitializer {
 			ServerPlayerEntity player = handler.getPlayer();
 			LOGGER.debug("Player {} joined server - scheduling crash recovery check", ProfileCompat.getName(player.getGameProfile()));
 			
+			// Keep command suggestions in sync with the player list
+			PlayerNameIndex.add(player);
+			SuggestionEligibilityCache.getInstance().invalidate();
+			
 			// Schedule crash recovery check with proper delay using TickTaskManager
 			try {
 				ManagerRegistry registry = ManagerRegistry.getInstance();
@@ -142,6 +176,8 @@ public class PeekMod implements ModInitializer {
 		// Handle player disconnections
 		ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
 			ServerPlayerEntity player = handler.getPlayer();
+			PlayerNameIndex.remove(player);
+			SuggestionEligibilityCache.getInstance().removePlayer(player.getUuid());
 			try {
 				// Clean up particle effects for this player
 				ParticleEffectManager.cleanupPlayerParticles(player.getUuid());
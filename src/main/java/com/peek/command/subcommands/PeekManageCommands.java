@@ -166,7 +166,8 @@ public class PeekManageCommands {
     
     private static int showGlobalStats(CommandContext<ServerCommandSource> context) {
         return CommandUtils.executeCommand(context, () -> {
-            Map<String, Object> stats = ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class).getSummaryStats();
+            PeekStatisticsManager statsManager = ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class);
+            Map<String, Object> stats = statsManager.getSummaryStats();
             Map<UUID, PeekSession> activeSessions = ManagerRegistry.getInstance().getManager(PeekSessionManager.class).getActiveSessions();
             
             MutableText message = Text.translatable("peek.manage.stats_global").formatted(Formatting.GOLD, Formatting.BOLD);
@@ -178,6 +179,14 @@ public class PeekManageCommands {
             TextUtils.addStatLine(message, Text.translatable("peek.manage.stats.average_session"), String.format("%.1f seconds", (Double) stats.getOrDefault("averageSessionDuration", 0.0)));
             TextUtils.addStatLine(message, Text.translatable("peek.manage.stats.active_sessions"), activeSessions.size());
             
+            // Rolling windows, summed from hourly/daily buckets
+            for (PeekConstants.StatsPeriod period : PeekConstants.StatsPeriod.values()) {
+                Map<String, Object> periodStats = statsManager.getStatsForPeriod(period);
+                TextUtils.addStatLine(message, Text.translatable("peek.manage.stats.period." + period.getKey()),
+                    Text.translatable("peek.manage.stats.period_value", periodStats.get("sessions"),
+                        TextUtils.formatDuration((Long) periodStats.get("duration"))));
+            }
+            
             // Top stats
             if (stats.containsKey("topPeeker")) {
                 TextUtils.addColoredStat(message, Text.translatable("peek.manage.stats.top_peeker"), stats.get("topPeeker") + " (" + stats.get("topPeekerCount") + ")", Formatting.AQUA);
@@ -281,7 +290,11 @@ public class PeekManageCommands {
                           isPeeking ? Text.translatable("peek.manage.player.status.peeking") :
                           beingPeeked ? Text.translatable("peek.manage.player.status.being_peeked") : Text.translatable("peek.manage.player.status.idle");
             TextUtils.addStatLine(message, Text.translatable("peek.manage.player.current_status"), statusText);
-            TextUtils.addStatLine(message, Text.translatable("peek.manage.player.recent_history_entries"), stats.recentHistory().size());
+            Map<String, Object> weekStats = ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class)
+                .getPlayerStatsForPeriod(target.getUuid(), PeekConstants.StatsPeriod.LAST_7_DAYS);
+            TextUtils.addStatLine(message, Text.translatable("peek.manage.player.last_7d"),
+                Text.translatable("peek.manage.player.period_value", weekStats.get("peekCount"), weekStats.get("peekedCount")));
+            TextUtils.addStatLine(message, Text.translatable("peek.manage.player.recent_history_entries"), ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class).getHistoryCount(target.getUuid()));
             
             return message;
         }, (message) -> {
@@ -364,6 +377,7 @@ public class PeekManageCommands {
             try {
                 // Reload the mod configuration
                 ModConfigManager.reloadConfig();
+                ParticleEffectManager.reloadProfiles();
                 
                 context.getSource().sendFeedback(() -> 
                     Text.translatable("peek.manage.config_reloaded")
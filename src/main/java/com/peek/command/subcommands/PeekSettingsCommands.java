@@ -3,6 +3,7 @@ package com.peek.command.subcommands;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.peek.PeekMod;
+import com.peek.command.suggestion.SuggestionEligibilityCache;
 import com.peek.data.PeekDataStorage;
 import com.peek.data.peek.PeekSession;
 import com.peek.data.peek.PlayerPeekData;
@@ -79,6 +80,7 @@ public class PeekSettingsCommands {
             // Update the data
             data = data.withPrivateMode(newState);
             PlayerDataApi.setCustomDataFor(player, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE, data);
+            SuggestionEligibilityCache.getInstance().invalidate();
             
             // Send simple success confirmation for toggle operations
             String key = newState ? "peek.settings.private_toggled_on" : "peek.settings.private_toggled_off";
@@ -104,6 +106,7 @@ public class PeekSettingsCommands {
 
             data = data.withPrivateMode(enabled);
             PlayerDataApi.setCustomDataFor(player, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE, data);
+            SuggestionEligibilityCache.getInstance().invalidate();
             
             String key = enabled ? "peek.settings.private_enabled" : "peek.settings.private_disabled";
             player.sendMessage(Text.translatable(key), false);
@@ -1,10 +1,12 @@
 package com.peek.command.subcommands;
 
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.peek.command.suggestion.PeekSuggestions;
 import com.peek.config.ModConfigManager;
 import com.peek.data.PeekDataStorage;
+import com.peek.data.peek.PeekHistoryEntry;
 import com.peek.data.peek.PeekRequest;
 import com.peek.data.peek.PeekSession;
 import com.peek.data.peek.PlayerPeekData;
@@ -12,7 +14,11 @@ import com.peek.manager.InviteManager;
 import com.peek.manager.ManagerRegistry;
 import com.peek.manager.PeekRequestManager;
 import com.peek.manager.PeekSessionManager;
+import com.peek.manager.PeekStatisticsManager;
+import com.peek.manager.TickScheduler;
 import com.peek.utils.*;
+import com.peek.utils.collection.ExpiringCache;
+import com.peek.utils.compat.ProfileCompat;
 import com.peek.utils.compat.TextEventCompat;
 import com.peek.utils.permissions.PermissionChecker;
 import com.peek.utils.permissions.Permissions;
@@ -20,12 +26,15 @@ import eu.pb4.placeholders.api.PlaceholderContext;
 import eu.pb4.placeholders.api.parsers.NodeParser;
 import eu.pb4.playerdata.api.PlayerDataApi;
 import net.minecraft.command.argument.EntityArgumentType;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -35,14 +44,24 @@ import java.util.UUID;
  * Handles utility peek commands: stats, invite, debug, usage
  */
 public class PeekUtilityCommands {
+    private static final DateTimeFormatter HISTORY_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
     
     public static LiteralArgumentBuilder<ServerCommandSource> createStatsCommand() {
         return CommandManager.literal("stats")
                 .requires(source -> PermissionChecker.hasPermission(source, Permissions.Command.STATS, 0))
                 .executes(ctx -> showStats(ctx, ctx.getSource().getPlayerOrThrow()))
+                .then(CommandManager.literal("history")
+                    .executes(ctx -> showHistory(ctx, ctx.getSource().getPlayerOrThrow(), 0))
+                    .then(CommandManager.argument("page", IntegerArgumentType.integer(0))
+                        .executes(ctx -> showHistory(ctx, ctx.getSource().getPlayerOrThrow(), IntegerArgumentType.getInteger(ctx, "page")))))
                 .then(CommandManager.argument("target", EntityArgumentType.player())
                     .requires(source -> PermissionChecker.hasPermission(source, Permissions.Command.STATS_OTHERS, 2))
-                    .executes(ctx -> showStats(ctx, CommandUtils.getPlayerArgument(ctx, "target"))));
+                    .executes(ctx -> showStats(ctx, CommandUtils.getPlayerArgument(ctx, "target")))
+                    .then(CommandManager.literal("history")
+                        .executes(ctx -> showHistory(ctx, CommandUtils.getPlayerArgument(ctx, "target"), 0))
+                        .then(CommandManager.argument("page", IntegerArgumentType.integer(0))
+                            .executes(ctx -> showHistory(ctx, CommandUtils.getPlayerArgument(ctx, "target"), IntegerArgumentType.getInteger(ctx, "page"))))));
     }
     
     public static LiteralArgumentBuilder<ServerCommandSource> createInviteCommand() {
@@ -89,8 +108,10 @@ public class PeekUtilityCommands {
             if (PermissionChecker.hasPermission(source, Permissions.Command.STATS, 0)) {
                 if (PermissionChecker.hasPermission(source, Permissions.Command.STATS_OTHERS, 2)) {
                     availableCommands.add("/peek stats [player] - View statistics");
+                    availableCommands.add("/peek stats [player] history [page] - View peek history");
                 } else {
                     availableCommands.add("/peek stats - View your statistics");
+                    availableCommands.add("/peek stats history [page] - View your peek history");
                 }
             }
             
@@ -159,6 +180,45 @@ public class PeekUtilityCommands {
         });
     }
     
+    private static int showHistory(CommandContext<ServerCommandSource> context, ServerPlayerEntity target, int page) {
+        return CommandUtils.executePlayerCommand(context, (viewer) -> {
+            if (!ValidationUtils.validatePlayerNotNull(target, viewer)) return 0;
+            
+            PeekStatisticsManager statsManager = ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class);
+            int pageSize = ModConfigManager.getDefaultPageSize();
+            int totalPages = (statsManager.getHistoryCount(target.getUuid()) + pageSize - 1) / pageSize;
+            String targetName = ProfileCompat.getName(target.getGameProfile());
+            String pageCommand = target == viewer ? "peek stats history" : "peek stats " + targetName + " history";
+            
+            MinecraftServer server = context.getSource().getServer();
+            
+            // Records are read off the server thread; the reply is sent back on it
+            statsManager.getPlayerHistory(target.getUuid(), page, pageSize).thenAccept(entries ->
+                server.execute(() -> {
+                    if (entries.isEmpty()) {
+                        viewer.sendMessage(Text.translatable("peek.stats.history.empty"), false);
+                        return;
+                    }
+                    
+                    MutableText message = Text.translatable("peek.stats.history.header", targetName);
+                    for (PeekHistoryEntry entry : entries) {
+                        String key = entry.type() == PeekHistoryEntry.PeekType.PEEKED_OTHER
+                            ? "peek.stats.history.peeked_other" : "peek.stats.history.was_peeked";
+                        message.append(TextUtils.newline()).append(Text.translatable(key,
+                            HISTORY_TIME_FORMAT.format(entry.timestamp()), entry.otherPlayerName(),
+                            TextUtils.formatDuration(entry.durationSeconds())));
+                        if (entry.crossedDimension()) {
+                            message.append(Text.translatable("peek.stats.history.cross_dimension"));
+                        }
+                    }
+                    
+                    TextUtils.addPaginationControls(message, page, totalPages, pageCommand);
+                    viewer.sendMessage(message, false);
+                }));
+            return 1;
+        });
+    }
+    
     private static int sendInvites(CommandContext<ServerCommandSource> context) {
         return CommandUtils.executePlayerCommand(context, (player) -> {
             Collection<ServerPlayerEntity> targets = CommandUtils.getPlayersArgument(context, "players");
@@ -328,6 +388,19 @@ public class PeekUtilityCommands {
             message.append(Text.translatable("peek.debug.requires_pending_request", requiresPendingRequest));
             message.append(Text.translatable("peek.debug.requires_pending_as_requester", requiresPendingRequestAsRequester));
             
+            ExpiringCache.Stats cacheStats = ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class).getCacheStats();
+            message.append(Text.translatable("peek.debug.stats_cache", cacheStats.hits(), cacheStats.misses(),
+                cacheStats.evictions(), cacheStats.size(), cacheStats.maxSize()));
+            
+            TickScheduler.Stats schedulerStats = ManagerRegistry.getInstance().getManager(TickScheduler.class).getStats();
+            message.append(Text.translatable("peek.debug.scheduler", schedulerStats.lastPassMicros(),
+                schedulerStats.overBudgetTicks(), schedulerStats.deferredRuns()));
+            schedulerStats.pendingTasks().forEach((subsystem, count) ->
+                message.append(Text.translatable("peek.debug.scheduler_tasks", subsystem, count)));
+            
+            message.append(Text.translatable("peek.debug.particle_lod", ParticleLod.getLevel().name(),
+                String.format("%.1f", ParticleLod.getLastMspt())));
+            
             player.sendMessage(message, false);
             return 1;
         });
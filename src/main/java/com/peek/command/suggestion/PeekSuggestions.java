@@ -1,16 +1,19 @@
 package com.peek.command.suggestion;
 
 import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.peek.data.PeekDataStorage;
 import com.peek.data.peek.PlayerPeekData;
 import com.peek.config.ModConfigManager;
 import com.peek.manager.ManagerRegistry;
 import com.peek.manager.PeekSessionManager;
+import com.peek.utils.PlayerNameIndex;
 import eu.pb4.playerdata.api.PlayerDataApi;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 
 import java.util.Objects;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.Map;
 import java.util.UUID;
@@ -28,25 +31,25 @@ public class PeekSuggestions {
             ServerCommandSource source = context.getSource();
             if (!source.isExecutedByPlayer()) return builder.buildFuture();
             
-            String input = builder.getRemaining().toLowerCase();
+            String input = builder.getRemaining();
             
             try {
                 ServerPlayerEntity requester = source.getPlayerOrThrow();
+                SuggestionEligibilityCache cache = SuggestionEligibilityCache.getInstance();
                 
-                source.getServer().getPlayerManager().getPlayerList().stream()
-                    .filter(player -> !isExecutor(source, player))
-                    .filter(player -> com.peek.utils.ValidationUtils.canSendPeekRequestTo(requester, player)) // Use player entity overload for private mode check
-                    .map(player -> player.getName().getString())
-                    .filter(name -> name.toLowerCase().startsWith(input))
-                    .forEach(builder::suggest);
+                for (PlayerNameIndex.Entry entry : PlayerNameIndex.findByPrefix(input)) {
+                    ServerPlayerEntity player = source.getServer().getPlayerManager().getPlayer(entry.id());
+                    // Use player entity overload for private mode check
+                    if (player != null && !player.getUuid().equals(requester.getUuid())
+                            && cache.isEligible(SuggestionEligibilityCache.Kind.PEEK, requester, player,
+                                com.peek.utils.ValidationUtils::canSendPeekRequestTo)) {
+                        builder.suggest(entry.name());
+                    }
+                }
                     
             } catch (Exception e) {
                 // Fallback with basic filtering (no validation due to exception)
-                source.getServer().getPlayerManager().getPlayerList().stream()
-                    .filter(player -> !isExecutor(source, player))
-                    .map(player -> player.getName().getString())
-                    .filter(name -> name.toLowerCase().startsWith(input))
-                    .forEach(builder::suggest);
+                suggestOthersByPrefix(source, input, builder);
             }
             
             return builder.buildFuture();
@@ -136,12 +139,10 @@ public class PeekSuggestions {
             ServerCommandSource source = context.getSource();
             if (!source.isExecutedByPlayer()) return builder.buildFuture();
             
-            String input = builder.getRemaining().toLowerCase();
+            String input = builder.getRemaining();
             
             try {
                 ServerPlayerEntity inviter = source.getPlayerOrThrow();
-                PlayerPeekData inviterData = PlayerDataApi.getCustomDataFor(inviter, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE);
-                if (inviterData == null) inviterData = com.peek.data.peek.PlayerPeekData.createDefault();
                 
                 // Get session manager and per-player session limit
                 PeekSessionManager sessionManager = ManagerRegistry.getInstance().getManager(PeekSessionManager.class);
@@ -156,39 +157,20 @@ public class PeekSuggestions {
                     }
                 }
                 
-                source.getServer().getPlayerManager().getPlayerList().stream()
-                    .filter(player -> !isExecutor(source, player)) // Exclude self
-                    .filter(player -> {
-                        // Exclude players who have the inviter blacklisted
-                        PlayerPeekData targetData = PlayerDataApi.getCustomDataFor(player, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE);
-                        if (targetData != null && targetData.blacklist().containsKey(inviter.getUuid())) {
-                            return false;
-                        }
-                        
-                        // Exclude players in private mode
-                        if (targetData != null && targetData.privateMode()) {
-                            return false;
-                        }
-                        
-                        // Exclude players who are already peeking the inviter
-                        if (sessionManager.isPlayerPeeking(player.getUuid())) {
-                            var targetSession = sessionManager.getSessionByPeeker(player.getUuid());
-                            return targetSession == null || !targetSession.getTargetId().equals(inviter.getUuid()); // Player is already peeking the inviter
-                        }
-                        
-                        return true;
-                    })
-                    .map(player -> player.getName().getString())
-                    .filter(name -> name.toLowerCase().startsWith(input))
-                    .forEach(builder::suggest);
+                SuggestionEligibilityCache cache = SuggestionEligibilityCache.getInstance();
+                BiPredicate<ServerPlayerEntity, ServerPlayerEntity> check =
+                    (from, candidate) -> isInviteCandidate(from, candidate, sessionManager);
+                for (PlayerNameIndex.Entry entry : PlayerNameIndex.findByPrefix(input)) {
+                    ServerPlayerEntity player = source.getServer().getPlayerManager().getPlayer(entry.id());
+                    if (player != null && !player.getUuid().equals(inviter.getUuid()) // Exclude self
+                            && cache.isEligible(SuggestionEligibilityCache.Kind.INVITE, inviter, player, check)) {
+                        builder.suggest(entry.name());
+                    }
+                }
                     
             } catch (Exception e) {
                 // Fallback to basic suggestions excluding self
-                source.getServer().getPlayerManager().getPlayerList().stream()
-                    .filter(player -> !isExecutor(source, player))
-                    .map(player -> player.getName().getString())
-                    .filter(name -> name.toLowerCase().startsWith(input))
-                    .forEach(builder::suggest);
+                suggestOthersByPrefix(source, input, builder);
             }
             
             return builder.buildFuture();
@@ -209,15 +191,14 @@ public class PeekSuggestions {
                 PlayerPeekData data = PlayerDataApi.getCustomDataFor(player, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE);
                 if (data == null) data = PlayerPeekData.createDefault();
                 
-                final PlayerPeekData finalData = data;
-                String input = builder.getRemaining().toLowerCase();
+                Map<UUID, Long> listed = listGetter.apply(data);
                 
-                source.getServer().getPlayerManager().getPlayerList().stream()
-                    .filter(p -> !isExecutor(source, p))
-                    .filter(p -> !listGetter.apply(finalData).containsKey(p.getUuid())) // Exclude already listed players
-                    .map(p -> p.getName().getString())
-                    .filter(name -> name.toLowerCase().startsWith(input))
-                    .forEach(builder::suggest);
+                for (PlayerNameIndex.Entry entry : PlayerNameIndex.findByPrefix(builder.getRemaining())) {
+                    // Exclude self and already listed players
+                    if (!entry.id().equals(player.getUuid()) && !listed.containsKey(entry.id())) {
+                        builder.suggest(entry.name());
+                    }
+                }
                     
             } catch (Exception e) {
                 // Fallback to regular suggestions
@@ -268,6 +249,43 @@ public class PeekSuggestions {
     public static final SuggestionProvider<ServerCommandSource> WHITELIST_REMOVE_SUGGESTIONS = 
         createListRemoveSuggestions(PlayerPeekData::whitelist);
     
+    /**
+     * Checks whether a player may be suggested for an invite
+     */
+    private static boolean isInviteCandidate(ServerPlayerEntity inviter, ServerPlayerEntity player,
+                                             PeekSessionManager sessionManager) {
+        // Exclude players who have the inviter blacklisted
+        PlayerPeekData targetData = PlayerDataApi.getCustomDataFor(player, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE);
+        if (targetData != null && targetData.blacklist().containsKey(inviter.getUuid())) {
+            return false;
+        }
+        
+        // Exclude players in private mode
+        if (targetData != null && targetData.privateMode()) {
+            return false;
+        }
+        
+        // Exclude players who are already peeking the inviter
+        if (sessionManager.isPlayerPeeking(player.getUuid())) {
+            var targetSession = sessionManager.getSessionByPeeker(player.getUuid());
+            return targetSession == null || !targetSession.getTargetId().equals(inviter.getUuid()); // Player is already peeking the inviter
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Suggests every online player except the executor whose name starts with the input, without other checks
+     */
+    private static void suggestOthersByPrefix(ServerCommandSource source, String input, SuggestionsBuilder builder) {
+        for (PlayerNameIndex.Entry entry : PlayerNameIndex.findByPrefix(input)) {
+            ServerPlayerEntity player = source.getServer().getPlayerManager().getPlayer(entry.id());
+            if (player != null && !isExecutor(source, player)) {
+                builder.suggest(entry.name());
+            }
+        }
+    }
+    
     /**
      * Helper method to check if a player is the command executor
      */
@@ -0,0 +1,106 @@
+package com.peek.command.suggestion;
+
+import com.peek.utils.PeekClock;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+/**
+ * Remembers, per command executor, which players passed the eligibility checks for peek and invite
+ * suggestions, so pressing tab repeatedly does not re-run every check for every candidate.
+ * <p>
+ * Requests, sessions, blacklist and private mode changes, joins and leaves call {@link #invalidate()}.
+ * Cached results are also dropped after a few seconds, which covers changes without an event such as
+ * permission updates.
+ */
+public class SuggestionEligibilityCache {
+    private static final SuggestionEligibilityCache INSTANCE = new SuggestionEligibilityCache();
+
+    // 5 seconds
+    private static final long ENTRY_LIFETIME_TICKS = 100;
+
+    public enum Kind {
+        PEEK,
+        INVITE
+    }
+
+    private static final class Entry {
+        final long version;
+        final long createdTick;
+        final Map<UUID, Boolean> peekTargets = new HashMap<>();
+        final Map<UUID, Boolean> inviteTargets = new HashMap<>();
+
+        Entry(long version, long createdTick) {
+            this.version = version;
+            this.createdTick = createdTick;
+        }
+    }
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private SuggestionEligibilityCache() {}
+
+    public static SuggestionEligibilityCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether a candidate may be suggested to an executor, running the check only on a cache miss
+     */
+    public boolean isEligible(Kind kind, ServerPlayerEntity executor, ServerPlayerEntity candidate,
+                              BiPredicate<ServerPlayerEntity, ServerPlayerEntity> check) {
+        Entry entry = entryFor(executor.getUuid());
+        Map<UUID, Boolean> results = kind == Kind.PEEK ? entry.peekTargets : entry.inviteTargets;
+        synchronized (entry) {
+            Boolean cached = results.get(candidate.getUuid());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        boolean eligible = check.test(executor, candidate);
+        synchronized (entry) {
+            results.put(candidate.getUuid(), eligible);
+        }
+        return eligible;
+    }
+
+    /**
+     * Drops all cached results; called whenever something they depend on changes
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Drops a leaving player's own entry along with every cached result
+     */
+    public void removePlayer(UUID playerId) {
+        entries.remove(playerId);
+        invalidate();
+    }
+
+    /**
+     * Drops everything (shutdown)
+     */
+    public void clear() {
+        entries.clear();
+        invalidate();
+    }
+
+    private Entry entryFor(UUID executorId) {
+        long currentVersion = version.get();
+        long now = PeekClock.now();
+        Entry entry = entries.get(executorId);
+        if (entry == null || entry.version != currentVersion || now - entry.createdTick >= ENTRY_LIFETIME_TICKS) {
+            entry = new Entry(currentVersion, now);
+            entries.put(executorId, entry);
+        }
+        return entry;
+    }
+}
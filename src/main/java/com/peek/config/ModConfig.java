@@ -21,13 +21,16 @@ public class ModConfig {
     
     @Comment("Particle effects settings for peek sessions")
     public ParticleSettings particles = new ParticleSettings();
+    
+    @Comment("Per-player peek history log settings")
+    public HistorySettings history = new HistorySettings();
 
     @Configuration  
     public static class PeekSettings {
-        @Comment("Request timeout in seconds")
+        @Comment("Request timeout in seconds; counted in server ticks, so it lasts longer while the server lags")
         public int requestTimeoutSeconds = 30;
         
-        @Comment("Cooldown between peek requests in seconds")
+        @Comment("Cooldown between peek requests in seconds; counted in server ticks, so it lasts longer while the server lags")
         public int cooldownSeconds = 60;
         
         @Comment("Time player must stay still before peeking (in ticks, 20 = 1 second)")
@@ -57,7 +60,10 @@ public class ModConfig {
         @Comment("Action when peek player exceeds move distance: TELEPORT_BACK or END_PEEK")
         public String moveDistanceAction = "TELEPORT_BACK";
         
-        @Comment("Auto accept delay in seconds for auto-accept feature")
+        @Comment("React to player movement and dimension changes as they happen; periodic checks become a safety net that runs at most every 5 seconds, sooner as players near a distance limit")
+        public boolean eventDrivenEnforcement = true;
+        
+        @Comment("Auto accept delay in seconds for auto-accept feature; counted in server ticks, so it lasts longer while the server lags")
         public int autoAcceptDelaySeconds = 3;
         
         @Comment("Require no hostile mobs within this radius to start peek (0 = no check)")
@@ -66,13 +72,13 @@ public class ModConfig {
         @Comment("Minimum distance between players in same dimension to allow peek (0 = no limit)")
         public double minSameDimensionDistance = 0.0;
         
-        @Comment("Cooldown between invite commands in seconds")
+        @Comment("Cooldown between invite commands in seconds; counted in server ticks, so it lasts longer while the server lags")
         public int inviteCooldownSeconds = 120;
         
         @Comment("Maximum number of players that can be invited at once")
         public int maxInviteCount = 5;
         
-        @Comment("Invite link expiration time in seconds")
+        @Comment("Invite link expiration time in seconds; counted in server ticks, so it lasts longer while the server lags")
         public int inviteExpirationSeconds = 300;
         
         @Comment("Maximum number of peek sessions per player (0 = unlimited)")
@@ -90,15 +96,33 @@ public class ModConfig {
         @Comment("Statistics cache TTL in minutes")
         public int statsCacheTtlMinutes = 10;
         
+        @Comment("Maximum number of per-player statistics entries kept in the cache (requires restart)")
+        public int statsCacheMaxEntries = 1000;
+        
+        @Comment("Minimum interval in seconds between background saves of changed global data such as statistics")
+        public int statsFlushIntervalSeconds = 60;
+        
+        @Comment("Keep the previous version of each global data file as a .bak, used if the current file cannot be read")
+        public boolean keepDataBackup = true;
+        
+        @Comment("File format for global data such as statistics: JSON, NBT or NBT_COMPRESSED. Existing files are rewritten in the new format on the next load after a change; unknown values fall back to JSON")
+        public String dataStorageFormat = "JSON";
+        
         @Comment("Cleanup interval in seconds")
         public long cleanupIntervalSeconds = 60;
         
         @Comment("Maximum requests per player concurrently")
         public int maxConcurrentRequestsPerPlayer = 3;
         
-        @Comment("Session update interval in ticks")
+        @Comment("Session check interval in ticks; checks adapt between a quarter and twice this value depending on player speed and distance to the limits")
         public long sessionUpdateIntervalTicks = 20;
         
+        @Comment("Milliseconds per tick the mod may spend before low-priority work such as cleanup is deferred (0 disables deferral)")
+        public double tickBudgetMillis = 2.0;
+        
+        @Comment("Microseconds per tick each incremental pass (session checks, cleanup) may run before continuing on the next tick")
+        public int maintenanceSliceMicros = 250;
+        
         public PerformanceSettings() {}
     }
     
@@ -204,13 +228,73 @@ public class ModConfig {
         @Comment("Only show particle effects to the target player (particles around peeker, but only target can see them)")
         public boolean onlyVisibleToTarget = false;
         
-        @Comment("Maximum distance other players can be from peeker to see particles (0 = unlimited)")
+        @Comment("Maximum distance other players can be from peeker to see particles; capped at 32 blocks, the furthest clients render particles (0 = up to that cap)")
         public double maxViewDistance = 50.0;
         
         @Comment("Particle color for dust particles (hex format like #FF0000 for red)")
         public String dustParticleColor = "#00FFFF";
         
+        @Comment({"Particle appearance for peekers with a permission, checked in order; the first match wins",
+                  "and peekers without any of them use the settings above (e.g. permission 'particles.staff'",
+                  "is granted by peekmod.particles.staff, or OP level 2 without a permissions mod)"})
+        public List<PermissionParticleProfile> permissionProfiles = new ArrayList<>();
+        
+        @Comment("Reduce particles automatically while the server's average tick time (MSPT) is high")
+        public boolean adaptiveLod = true;
+        
+        @Comment("MSPT at which particles are spawned half as often, with half the particles")
+        public double lodReducedMspt = 35.0;
+        
+        @Comment("MSPT at which particles are spawned a quarter as often, one particle at a time")
+        public double lodMinimalMspt = 42.0;
+        
+        @Comment("MSPT at which particles are turned off")
+        public double lodOffMspt = 47.0;
+        
+        @Comment("How far MSPT must fall below a level's threshold before particles ramp back up one level")
+        public double lodRecoveryMarginMspt = 5.0;
+        
         public ParticleSettings() {}
     }
+    
+    @Configuration
+    public static class PermissionParticleProfile {
+        @Comment("Permission node, relative to 'peekmod.'")
+        public String permission = "particles.staff";
+        
+        @Comment("Particle type (FLAME, PORTAL, ENCHANT, HEART, NOTE, DUST, SPARKLE)")
+        public String particleType = "SPARKLE";
+        
+        @Comment("Number of particles per spawn")
+        public int particlesPerSpawn = 2;
+        
+        @Comment("Particle spread radius around the peeker (in blocks)")
+        public double particleSpread = 1.0;
+        
+        @Comment("Particle velocity multiplier")
+        public double particleVelocity = 0.1;
+        
+        @Comment("Particle color for dust particles (hex format)")
+        public String dustParticleColor = "#00FFFF";
+        
+        public PermissionParticleProfile() {}
+    }
+    
+    @Configuration
+    public static class HistorySettings {
+        @Comment("Record each player's peek sessions to an append-only log in the world save")
+        public boolean enableHistory = true;
+        
+        @Comment("Size in kilobytes at which the current history log segment is closed and a new one started (at most 2097151, just under 2 GiB)")
+        public int segmentSizeKb = 1024;
+        
+        @Comment("Delete history segments whose newest entry is older than this many days (0 = keep forever)")
+        public int retentionDays = 30;
+        
+        @Comment("Maximum number of history segments to keep, oldest deleted first (0 = unlimited)")
+        public int maxSegments = 64;
+        
+        public HistorySettings() {}
+    }
 
 }
@@ -1,12 +1,14 @@
 package com.peek.config;
 
 import com.peek.PeekMod;
+import com.peek.data.DataStorageFormat;
 import de.exlll.configlib.YamlConfigurations;
 import net.fabricmc.loader.api.FabricLoader;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 public class ModConfigManager {
     private static volatile ModConfig CONFIG;
@@ -93,6 +95,30 @@ public class ModConfigManager {
         return getConfig().performance.statsCacheTtlMinutes;
     }
     
+    public static int getStatsCacheMaxEntries() {
+        return getConfig().performance.statsCacheMaxEntries;
+    }
+    
+    public static int getStatsFlushIntervalSeconds() {
+        return getConfig().performance.statsFlushIntervalSeconds;
+    }
+    
+    public static double getTickBudgetMillis() {
+        return getConfig().performance.tickBudgetMillis;
+    }
+    
+    public static int getMaintenanceSliceMicros() {
+        return getConfig().performance.maintenanceSliceMicros;
+    }
+    
+    public static boolean isDataBackupEnabled() {
+        return getConfig().performance.keepDataBackup;
+    }
+    
+    public static DataStorageFormat getDataStorageFormat() {
+        return DataStorageFormat.fromName(getConfig().performance.dataStorageFormat);
+    }
+    
     public static long getCleanupIntervalSeconds() {
         return getConfig().performance.cleanupIntervalSeconds;
     }
@@ -109,6 +135,10 @@ public class ModConfigManager {
         return getConfig().peek.maxPeekMoveDistance;
     }
     
+    public static boolean isEventDrivenEnforcementEnabled() {
+        return getConfig().peek.eventDrivenEnforcement;
+    }
+    
     public static boolean shouldTeleportBackOnDistanceExceeded() {
         return "TELEPORT_BACK".equalsIgnoreCase(getConfig().peek.moveDistanceAction);
     }
@@ -282,6 +312,30 @@ public class ModConfigManager {
         return getConfig().particles.dustParticleColor;
     }
     
+    public static List<ModConfig.PermissionParticleProfile> getParticlePermissionProfiles() {
+        return getConfig().particles.permissionProfiles;
+    }
+    
+    public static boolean isParticleLodEnabled() {
+        return getConfig().particles.adaptiveLod;
+    }
+    
+    public static double getParticleLodReducedMspt() {
+        return getConfig().particles.lodReducedMspt;
+    }
+    
+    public static double getParticleLodMinimalMspt() {
+        return getConfig().particles.lodMinimalMspt;
+    }
+    
+    public static double getParticleLodOffMspt() {
+        return getConfig().particles.lodOffMspt;
+    }
+    
+    public static double getParticleLodRecoveryMarginMspt() {
+        return getConfig().particles.lodRecoveryMarginMspt;
+    }
+    
     // Legacy compatibility
     @Deprecated
     public static boolean isEnableSoundNotifications() {
@@ -327,6 +381,18 @@ public class ModConfigManager {
     
     // Statistics configuration
     public static long getStatisticsHistoryRetentionDays() {
-        return 30; // Default 30 days
+        return getConfig().history.retentionDays;
+    }
+    
+    public static boolean isHistoryEnabled() {
+        return getConfig().history.enableHistory;
+    }
+    
+    public static int getHistorySegmentSizeKb() {
+        return getConfig().history.segmentSizeKb;
+    }
+    
+    public static int getHistoryMaxSegments() {
+        return getConfig().history.maxSegments;
     }
 }
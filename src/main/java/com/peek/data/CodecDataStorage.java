@@ -0,0 +1,209 @@
+package com.peek.data;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.peek.PeekMod;
+import com.peek.config.ModConfigManager;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Codec-backed file in the world's global data directory, written in the configured {@link DataStorageFormat}.
+ * Saves are crash-safe: data is streamed to a temporary file, forced to disk and atomically moved over
+ * the live file. When backups are enabled the previous file is kept as {@code .bak}, and loading falls
+ * back to it if the live file is missing or unreadable.
+ * If no file exists in the configured format but one exists in another format, it is loaded and rewritten
+ * once in the configured format, keeping the old file with a {@code .migrated} suffix. Files in the
+ * configured format are never migrated, so the default JSON format leaves existing JSON files alone, and
+ * switching formats back and forth never leaves a stale file behind that a later load could prefer.
+ */
+public record CodecDataStorage<T>(String path, Codec<T> codec) {
+    static final String DIR = "global-mod-data";
+
+    /**
+     * Where and how a storage is read and written
+     * @param directory global data directory
+     * @param registries registries for the codec ops
+     * @param format configured format, written on save
+     * @param keepBackup whether a save keeps the previous file as {@code .bak}
+     */
+    record Target(Path directory, DynamicRegistryManager registries, DataStorageFormat format, boolean keepBackup) {}
+
+    public boolean save(MinecraftServer server, T data) {
+        Path globalPath = server.getSavePath(WorldSavePath.ROOT).resolve(DIR);
+        if (data == null) {
+            return delete(globalPath);
+        }
+
+        var registryManager = com.peek.utils.compat.PlayerCompat.getRegistryManager(server);
+        if (registryManager == null) {
+            PeekMod.LOGGER.error("Cannot save global data - server registry manager not available");
+            return false;
+        }
+        return save(target(globalPath, registryManager), data);
+    }
+
+    public T load(MinecraftServer server) {
+        var registryManager = com.peek.utils.compat.PlayerCompat.getRegistryManager(server);
+        if (registryManager == null) {
+            PeekMod.LOGGER.error("Cannot load global data - server registry manager not available");
+            return null;
+        }
+        return load(target(server.getSavePath(WorldSavePath.ROOT).resolve(DIR), registryManager));
+    }
+
+    boolean save(Target target, T data) {
+        Path filePath = target.directory().resolve(this.path + target.format().getExtension());
+        try {
+            if (!Files.exists(target.directory())) {
+                Files.createDirectories(target.directory());
+            }
+
+            Path tempPath = target.directory().resolve(this.path + target.format().getExtension() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel));
+                target.format().write(output, codec, target.registries(), data);
+                output.flush();
+                channel.force(true);
+            }
+
+            if (target.keepBackup() && Files.exists(filePath)) {
+                Files.move(filePath, backupPath(filePath), StandardCopyOption.REPLACE_EXISTING);
+            }
+            moveAtomically(tempPath, filePath);
+            return true;
+        } catch (IOException e) {
+            PeekMod.LOGGER.error("IOException while saving global data for path {}\n{}", this.path, e.fillInStackTrace());
+            return false;
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Unexpected error while saving global data for path {}\n{}", this.path, e.fillInStackTrace());
+            return false;
+        }
+    }
+
+    T load(Target target) {
+        Path filePath = target.directory().resolve(this.path + target.format().getExtension());
+        if (Files.exists(filePath) || Files.exists(backupPath(filePath))) {
+            return loadWithBackup(target, filePath, target.format());
+        }
+
+        for (DataStorageFormat otherFormat : DataStorageFormat.values()) {
+            Path otherPath = target.directory().resolve(this.path + otherFormat.getExtension());
+            if (otherFormat != target.format() && (Files.exists(otherPath) || Files.exists(backupPath(otherPath)))) {
+                return migrate(target, otherPath, otherFormat);
+            }
+        }
+        return null;
+    }
+
+    private boolean delete(Path globalPath) {
+        try {
+            boolean deleted = false;
+            for (DataStorageFormat candidate : DataStorageFormat.values()) {
+                Path candidatePath = globalPath.resolve(this.path + candidate.getExtension());
+                Files.deleteIfExists(backupPath(candidatePath));
+                deleted |= Files.deleteIfExists(candidatePath);
+            }
+            return deleted;
+        } catch (IOException e) {
+            PeekMod.LOGGER.error("Failed to delete global data files for path {}\n{}", this.path, e.fillInStackTrace());
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites a file from another format in the configured one and moves the old file aside, so it
+     * can never be picked up again after a later format change
+     */
+    private T migrate(Target target, Path oldPath, DataStorageFormat oldFormat) {
+        T data = loadWithBackup(target, oldPath, oldFormat);
+        if (data == null) {
+            return null;
+        }
+
+        PeekMod.LOGGER.info("Migrating global data for path {} from {} to {}", this.path, oldFormat, target.format());
+        if (save(target, data)) {
+            try {
+                if (Files.exists(oldPath)) {
+                    Files.move(oldPath, oldPath.resolveSibling(oldPath.getFileName() + ".migrated"),
+                        StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.deleteIfExists(backupPath(oldPath));
+            } catch (IOException e) {
+                PeekMod.LOGGER.warn("Migrated global data for path {} but could not move the old file aside", this.path, e);
+            }
+        } else {
+            PeekMod.LOGGER.warn("Failed to migrate global data for path {}, keeping {} file", this.path, oldFormat);
+        }
+        return data;
+    }
+
+    private T loadWithBackup(Target target, Path filePath, DataStorageFormat format) {
+        Path backupPath = backupPath(filePath);
+
+        if (Files.exists(filePath)) {
+            T data = read(target, filePath, format);
+            if (data != null || !Files.exists(backupPath)) {
+                return data;
+            }
+            PeekMod.LOGGER.warn("Global data at path {} is unreadable, falling back to backup", this.path);
+        } else {
+            // Crash between moving the old file aside and moving the new one in
+            PeekMod.LOGGER.warn("Global data at path {} is missing, restoring from backup", this.path);
+        }
+        return read(target, backupPath, format);
+    }
+
+    private T read(Target target, Path filePath, DataStorageFormat format) {
+        try {
+            DataResult<T> decoded;
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(filePath))) {
+                decoded = format.read(input, codec, target.registries());
+            }
+
+            if (decoded.result().isEmpty()) {
+                PeekMod.LOGGER.error("Decoding failed or returned empty for global data at path {}", this.path);
+                return null;
+            }
+
+            return decoded.result().orElse(null);
+        } catch (IOException e) {
+            PeekMod.LOGGER.error("IOException while loading global data for path {}", this.path, e);
+            return null;
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Unexpected error while loading global data for path {}", this.path, e);
+            return null;
+        }
+    }
+
+    private static Target target(Path directory, DynamicRegistryManager registries) {
+        return new Target(directory, registries, ModConfigManager.getDataStorageFormat(), ModConfigManager.isDataBackupEnabled());
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Path backupPath(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + ".bak");
+    }
+}
@@ -0,0 +1,139 @@
+package com.peek.data;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.mojang.datafixers.util.Pair;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.JsonOps;
+import com.peek.PeekMod;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.registry.DynamicRegistryManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk encodings for {@link CodecDataStorage}. All formats write the same codec data. In the NBT formats
+ * numbers are fixed-width tags, and fields using {@link StorageCodecs} store UUIDs as int arrays and times
+ * as epoch milliseconds; map keys stay strings, as NBT compounds require. Loading NBT skips text parsing.
+ */
+public enum DataStorageFormat {
+    /** Human-readable JSON text */
+    JSON(".json") {
+        @Override
+        <T> void write(OutputStream output, Codec<T> codec, DynamicRegistryManager registries, T data) throws IOException {
+            JsonElement encoded = codec.encodeStart(registries.getOps(JsonOps.INSTANCE), data).getOrThrow();
+            JsonWriter writer = GSON.newJsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            GSON.toJson(encoded, writer);
+            writer.flush();
+        }
+
+        @Override
+        <T> DataResult<T> read(InputStream input, Codec<T> codec, DynamicRegistryManager registries) {
+            JsonElement element = JsonParser.parseReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            return codec.decode(registries.getOps(JsonOps.INSTANCE), element).map(Pair::getFirst);
+        }
+    },
+    /** Uncompressed binary NBT, every value length-prefixed or fixed-width */
+    NBT(".nbt") {
+        @Override
+        <T> void write(OutputStream output, Codec<T> codec, DynamicRegistryManager registries, T data) throws IOException {
+            DataOutputStream dataOutput = new DataOutputStream(output);
+            NbtIo.write(wrap(codec, registries, data), dataOutput);
+            dataOutput.flush();
+        }
+
+        @Override
+        <T> DataResult<T> read(InputStream input, Codec<T> codec, DynamicRegistryManager registries) throws IOException {
+            return unwrap(NbtIo.read(new DataInputStream(input), NbtSizeTracker.ofUnlimitedBytes()), codec, registries);
+        }
+    },
+    /** Gzip-compressed binary NBT, the format of vanilla {@code .dat} files */
+    NBT_COMPRESSED(".dat") {
+        @Override
+        <T> void write(OutputStream output, Codec<T> codec, DynamicRegistryManager registries, T data) throws IOException {
+            // Compressed by hand so the caller's stream stays open for fsync; NbtIo.writeCompressed closes it
+            GZIPOutputStream compressed = new GZIPOutputStream(output);
+            DataOutputStream dataOutput = new DataOutputStream(new BufferedOutputStream(compressed));
+            NbtIo.write(wrap(codec, registries, data), dataOutput);
+            dataOutput.flush();
+            compressed.finish();
+        }
+
+        @Override
+        <T> DataResult<T> read(InputStream input, Codec<T> codec, DynamicRegistryManager registries) throws IOException {
+            DataInputStream dataInput = new DataInputStream(new BufferedInputStream(new GZIPInputStream(input)));
+            return unwrap(NbtIo.read(dataInput, NbtSizeTracker.ofUnlimitedBytes()), codec, registries);
+        }
+    };
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+    // NBT files need a compound root, so the encoded value is stored under this key
+    private static final String NBT_ROOT_KEY = "data";
+
+    private static volatile String lastUnknownName;
+
+    private final String extension;
+
+    DataStorageFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract <T> void write(OutputStream output, Codec<T> codec, DynamicRegistryManager registries, T data) throws IOException;
+
+    abstract <T> DataResult<T> read(InputStream input, Codec<T> codec, DynamicRegistryManager registries) throws IOException;
+
+    /**
+     * Parses a config value, falling back to {@link #JSON} with a warning for unknown names
+     */
+    public static DataStorageFormat fromName(String name) {
+        for (DataStorageFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        // Warn once per bad value, not on every save
+        if (!Objects.equals(name, lastUnknownName)) {
+            lastUnknownName = name;
+            PeekMod.LOGGER.warn("Unknown data storage format '{}', using JSON", name);
+        }
+        return JSON;
+    }
+
+    private static <T> NbtCompound wrap(Codec<T> codec, DynamicRegistryManager registries, T data) {
+        NbtCompound root = new NbtCompound();
+        root.put(NBT_ROOT_KEY, codec.encodeStart(registries.getOps(NbtOps.INSTANCE), data).getOrThrow());
+        return root;
+    }
+
+    private static <T> DataResult<T> unwrap(NbtCompound root, Codec<T> codec, DynamicRegistryManager registries) {
+        NbtElement element = root.get(NBT_ROOT_KEY);
+        if (element == null) {
+            return DataResult.error(() -> "Missing '" + NBT_ROOT_KEY + "' tag");
+        }
+        return codec.parse(registries.getOps(NbtOps.INSTANCE), element);
+    }
+}
@@ -1,25 +1,86 @@
 package com.peek.data;
 
 import com.peek.PeekMod;
+import com.peek.config.ModConfigManager;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
+/**
+ * Persistence hub for global (not per-player) mod data.
+ * <p>
+ * Every {@link Identifier} maps to a {@link CodecDataStorage}. Data is either handed over as a value with
+ * {@link #setData}, or owned elsewhere and registered with a snapshot source, in which case the owner calls
+ * {@link #markDirty} after each change. Dirty entries are written on a dedicated I/O thread at most once per
+ * save interval, so any number of changes within an interval coalesce into one write. A world autosave
+ * triggers an immediate background save, and {@link #shutdown} writes whatever is still pending.
+ * Before {@link #start} is called, {@link #setData} saves synchronously.
+ */
 public final class GlobalDataManager {
-    private static final Map<Identifier, JsonCodecDataStorage<?>> STORAGES = new ConcurrentHashMap<>();
+    private static final String IO_THREAD_NAME = "peek-data-io";
+
+    private record Registration<T>(CodecDataStorage<T> storage, @Nullable Supplier<T> source) {}
+
+    private static final Map<Identifier, Registration<?>> STORAGES = new ConcurrentHashMap<>();
     private static final Map<Identifier, Object> CACHE = new ConcurrentHashMap<>();
+    private static final Set<Identifier> DIRTY = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean SAVE_SCHEDULED = new AtomicBoolean();
+    // Serializes writes between the I/O thread and the final save on shutdown
+    private static final Object SAVE_LOCK = new Object();
+
+    private static volatile ScheduledExecutorService executor;
+    private static volatile MinecraftServer server;
+    private static volatile long lastSaveNanos;
 
     private GlobalDataManager() {}
 
-    public static <T> void register(Identifier id, JsonCodecDataStorage<T> storage) {
-        STORAGES.put(id, storage);
+    public static <T> void register(Identifier id, CodecDataStorage<T> storage) {
+        STORAGES.put(id, new Registration<>(storage, null));
         PeekMod.LOGGER.debug("Registered storage for id: {}", id);
     }
 
+    /**
+     * Registers storage for data owned by another component. The source is called on the I/O thread
+     * to take a snapshot whenever the entry is dirty, so it must be thread-safe.
+     */
+    public static <T> void register(Identifier id, CodecDataStorage<T> storage, Supplier<T> source) {
+        STORAGES.put(id, new Registration<>(storage, Objects.requireNonNull(source, "source")));
+        PeekMod.LOGGER.debug("Registered storage with snapshot source for id: {}", id);
+    }
+
+    /**
+     * Starts background saving for the given server. Called once when the server is starting.
+     */
+    public static void start(MinecraftServer minecraftServer) {
+        server = minecraftServer;
+        lastSaveNanos = System.nanoTime();
+        if (executor == null || executor.isShutdown()) {
+            ScheduledThreadPoolExecutor ioExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, IO_THREAD_NAME);
+                t.setDaemon(true); // Daemon thread so it won't prevent JVM shutdown
+                return t;
+            });
+            // A pending interval save is dropped on shutdown; the final save covers it
+            ioExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor = ioExecutor;
+        }
+    }
+
+    /**
+     * Loads data for the id. Values set through {@link #setData} are cached; data with a snapshot source
+     * is read from disk every time, since its owner holds the live copy.
+     */
     @Nullable
     @SuppressWarnings("unchecked")
     public static <T> T getData(MinecraftServer server, Identifier id) {
@@ -29,17 +90,19 @@ public final class GlobalDataManager {
             return cached;
         }
 
-        JsonCodecDataStorage<T> storage = (JsonCodecDataStorage<T>) STORAGES.get(id);
-        if (storage == null) {
+        Registration<T> registration = (Registration<T>) STORAGES.get(id);
+        if (registration == null) {
             PeekMod.LOGGER.warn("No storage found for id: {}", id);
             return null;
         }
 
         T data = null;
         try {
-            data = storage.load(server);
+            data = registration.storage().load(server);
             if (data != null) {
-                CACHE.put(id, data);
+                if (registration.source() == null) {
+                    CACHE.put(id, data);
+                }
                 PeekMod.LOGGER.debug("Loaded data from storage for id: {}", id);
             } else {
                 PeekMod.LOGGER.debug("No data found on disk for id: {}", id);
@@ -50,43 +113,149 @@ public final class GlobalDataManager {
         return data;
     }
 
-    @SuppressWarnings("unchecked")
-    public static <T> void setData(MinecraftServer server, Identifier id, T data) {
-        JsonCodecDataStorage<T> storage = (JsonCodecDataStorage<T>) STORAGES.get(id);
-        if (storage == null) {
+    /**
+     * Replaces the data for the id and schedules a save; {@code null} deletes the stored file
+     */
+    public static <T> void setData(MinecraftServer server, Identifier id, @Nullable T data) {
+        if (!STORAGES.containsKey(id)) {
             PeekMod.LOGGER.warn("No storage registered for id: {}, cannot save data", id);
             return;
         }
 
-        try {
-            boolean saved = storage.save(server, data);
-            if (saved) {
-                if (data != null) {
-                    CACHE.put(id, data);
-                    PeekMod.LOGGER.debug("Saved and cached data for id: {}", id);
-                } else {
-                    CACHE.remove(id);
-                    PeekMod.LOGGER.debug("Removed cached data for id: {}", id);
-                }
-            } else {
-                PeekMod.LOGGER.warn("Failed to save data for id: {}", id);
-            }
-        } catch (Exception e) {
-            PeekMod.LOGGER.error("Exception while saving data for id: {}", id, e);
+        if (data != null) {
+            CACHE.put(id, data);
+        } else {
+            CACHE.remove(id);
+        }
+
+        if (executor == null) {
+            saveEntry(server, id);
+        } else {
+            markDirty(id);
         }
     }
 
+    /**
+     * Flags the id as changed; it is written by the next background save
+     */
+    public static void markDirty(Identifier id) {
+        DIRTY.add(id);
+        scheduleSave();
+    }
+
+    /**
+     * Saves all dirty entries in the background now, regardless of the save interval. Used by world autosave.
+     */
+    public static void requestSave() {
+        ScheduledExecutorService currentExecutor = executor;
+        if (currentExecutor != null && !currentExecutor.isShutdown() && !DIRTY.isEmpty()) {
+            currentExecutor.execute(GlobalDataManager::saveDirty);
+        }
+    }
+
+    /**
+     * Synchronously saves every cached value and every dirty entry
+     */
     public static void saveAll(MinecraftServer server) {
         Objects.requireNonNull(server, "Server must not be null");
-        PeekMod.LOGGER.info("Saving all global cached data, total entries: {}", CACHE.size());
-        for (Map.Entry<Identifier, Object> entry : CACHE.entrySet()) {
+        DIRTY.addAll(CACHE.keySet());
+        PeekMod.LOGGER.info("Saving all global data, total entries: {}", DIRTY.size());
+        saveDirty(server);
+        PeekMod.LOGGER.info("Completed saving all global data");
+    }
+
+    /**
+     * Stops background saving and writes everything still pending. Called when the server is stopping,
+     * after data owners have made their last changes.
+     */
+    public static void shutdown() {
+        ScheduledExecutorService currentExecutor = executor;
+        executor = null;
+        if (currentExecutor != null) {
+            currentExecutor.shutdown();
             try {
-                setData(server, entry.getKey(), entry.getValue());
-                PeekMod.LOGGER.debug("Saved global data for id: {}", entry.getKey());
-            } catch (Exception e) {
-                PeekMod.LOGGER.error("Failed to save global data for id: {}", entry.getKey(), e);
+                if (!currentExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    currentExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                currentExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
             }
         }
-        PeekMod.LOGGER.info("Completed saving all global data");
+
+        MinecraftServer currentServer = server;
+        if (currentServer != null) {
+            saveDirty(currentServer);
+        }
+        SAVE_SCHEDULED.set(false);
+        DIRTY.clear();
+        CACHE.clear();
+        server = null;
+    }
+
+    // Private helpers
+
+    private static void scheduleSave() {
+        ScheduledExecutorService currentExecutor = executor;
+        if (currentExecutor == null || currentExecutor.isShutdown() || !SAVE_SCHEDULED.compareAndSet(false, true)) {
+            return;
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ModConfigManager.getStatsFlushIntervalSeconds()));
+        long delayNanos = Math.max(0, lastSaveNanos + intervalNanos - System.nanoTime());
+        currentExecutor.schedule(() -> {
+            SAVE_SCHEDULED.set(false);
+            saveDirty();
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void saveDirty() {
+        MinecraftServer currentServer = server;
+        if (currentServer != null) {
+            saveDirty(currentServer);
+        }
+    }
+
+    private static void saveDirty(MinecraftServer server) {
+        boolean failed = false;
+        synchronized (SAVE_LOCK) {
+            for (Identifier id : List.copyOf(DIRTY)) {
+                // Cleared before the snapshot so changes made during the write mark it dirty again
+                DIRTY.remove(id);
+                if (!saveEntry(server, id)) {
+                    DIRTY.add(id);
+                    failed = true;
+                }
+            }
+            lastSaveNanos = System.nanoTime();
+        }
+
+        if (failed) {
+            // Retry on the next interval
+            scheduleSave();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> boolean saveEntry(MinecraftServer server, Identifier id) {
+        Registration<T> registration = (Registration<T>) STORAGES.get(id);
+        if (registration == null) {
+            return true;
+        }
+
+        try {
+            T data = registration.source() != null ? registration.source().get() : (T) CACHE.get(id);
+            boolean saved = registration.storage().save(server, data);
+            if (saved) {
+                PeekMod.LOGGER.debug("Saved global data for id: {}", id);
+            } else if (data != null) {
+                PeekMod.LOGGER.warn("Failed to save data for id: {}", id);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Exception while saving data for id: {}", id, e);
+            return false;
+        }
     }
 }
@@ -1,19 +1,26 @@
 package com.peek.data;
 
+import com.peek.PeekMod;
 import com.peek.data.peek.PeekStatistics;
+import net.minecraft.util.Identifier;
 
 /**
- * Global data storage instances using custom JsonCodecDataStorage
+ * Global data storage instances using custom CodecDataStorage
  * These are not managed by PlayerDataAPI but by our own implementation
  */
 public class GlobalDataStorage {
     
     /**
-     * Global storage for peek statistics using custom JsonCodecDataStorage
+     * Global storage for peek statistics using custom CodecDataStorage
      * This stores global server-wide statistics in the world save directory
      */
-    public static final JsonCodecDataStorage<PeekStatistics> PEEK_STATISTICS_STORAGE =
-        new JsonCodecDataStorage<>("peek_statistics", PeekStatistics.CODEC);
+    public static final CodecDataStorage<PeekStatistics> PEEK_STATISTICS_STORAGE =
+        new CodecDataStorage<>("peek_statistics", PeekStatistics.CODEC);
+    
+    /**
+     * {@link GlobalDataManager} id of the peek statistics
+     */
+    public static final Identifier PEEK_STATISTICS_ID = Identifier.of(PeekMod.MOD_ID, "peek_statistics");
     
     private GlobalDataStorage() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -0,0 +1,373 @@
+package com.peek.data;
+
+import com.peek.PeekMod;
+import com.peek.data.peek.PeekHistoryEntry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Append-only, segmented binary log of per-player peek history.
+ * <p>
+ * Each session adds one record per involved player. Records are appended to the newest segment file
+ * and a new segment is started once it exceeds the configured size. An in-memory index maps every player
+ * to the positions of their records, so reading a history page only reads that page's records.
+ * The index is rebuilt by scanning the segments when the log is opened; a torn record at the end of the
+ * newest segment (from a crash mid-write) is truncated away. An unreadable record in an older segment is
+ * logged and the rest of that segment skipped, leaving the file untouched.
+ * Retention deletes whole segments, oldest first. Segments stay below 2 GiB so record offsets fit an int.
+ * <p>
+ * Record layout: {@code int length} followed by the payload
+ * ({@code owner uuid, session uuid, other uuid, other name, type code, timestamp millis, duration seconds,
+ * crossed dimension}).
+ */
+public final class PeekHistoryLog {
+    private static final String DIR = "peek_history";
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RECORD_BYTES = 4096;
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    // Stored type codes; never reuse or renumber them
+    private static final byte TYPE_PEEKED_OTHER = 0;
+    private static final byte TYPE_WAS_PEEKED = 1;
+
+    /** Record positions of one player, in append order; each is {@code segment << 32 | offset} */
+    private static final class Positions {
+        long[] values = new long[8];
+        int size;
+
+        void add(long position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+
+        /** Drops leading positions that live in segments older than the given one */
+        void dropBefore(int oldestSegment) {
+            int keepFrom = 0;
+            while (keepFrom < size && segmentOf(values[keepFrom]) < oldestSegment) {
+                keepFrom++;
+            }
+            if (keepFrom > 0) {
+                System.arraycopy(values, keepFrom, values, 0, size - keepFrom);
+                size -= keepFrom;
+            }
+        }
+    }
+
+    private static final class Segment {
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        long size;
+        long newestMillis;
+
+        Segment(int id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+
+    private final Path directory;
+    private final long segmentMaxBytes;
+    private final NavigableMap<Integer, Segment> segments = new TreeMap<>();
+    private final Map<UUID, Positions> index = new HashMap<>();
+
+    private PeekHistoryLog(Path directory, long segmentMaxBytes) {
+        this.directory = directory;
+        this.segmentMaxBytes = Math.max(MAX_RECORD_BYTES, Math.min(MAX_SEGMENT_BYTES, segmentMaxBytes));
+    }
+
+    /**
+     * Opens the history log in the world save directory, rebuilding the index from existing segments
+     */
+    public static PeekHistoryLog open(MinecraftServer server, long segmentMaxBytes) throws IOException {
+        return open(server.getSavePath(WorldSavePath.ROOT).resolve(CodecDataStorage.DIR).resolve(DIR), segmentMaxBytes);
+    }
+
+    /**
+     * Opens the history log in the given directory, rebuilding the index from existing segments
+     */
+    public static PeekHistoryLog open(Path directory, long segmentMaxBytes) throws IOException {
+        Files.createDirectories(directory);
+
+        PeekHistoryLog log = new PeekHistoryLog(directory, segmentMaxBytes);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    int id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    log.segments.put(id, log.openSegment(id, path));
+                } catch (NumberFormatException e) {
+                    PeekMod.LOGGER.warn("Ignoring unexpected file in peek history directory: {}", name);
+                }
+            }
+        }
+        for (Segment segment : log.segments.values()) {
+            log.scan(segment, segment == log.segments.lastEntry().getValue());
+        }
+        return log;
+    }
+
+    /**
+     * Appends one history record for the given player
+     */
+    public synchronized void append(UUID playerId, PeekHistoryEntry entry) throws IOException {
+        ByteBuffer record = encode(playerId, entry);
+        Segment segment = writableSegment(record.remaining());
+
+        long offset = segment.size;
+        while (record.hasRemaining()) {
+            segment.channel.write(record, segment.size + record.position());
+        }
+        segment.size += record.limit();
+        segment.newestMillis = Math.max(segment.newestMillis, entry.timestamp().toEpochMilli());
+
+        index.computeIfAbsent(playerId, id -> new Positions()).add(position(segment.id, offset));
+    }
+
+    /**
+     * Reads one page of a player's history, newest entries first
+     */
+    public synchronized List<PeekHistoryEntry> read(UUID playerId, int page, int pageSize) throws IOException {
+        Positions positions = index.get(playerId);
+        if (positions == null || page < 0 || pageSize <= 0) {
+            return List.of();
+        }
+
+        int newest = positions.size - 1 - page * pageSize;
+        int oldest = Math.max(0, newest - pageSize + 1);
+        List<PeekHistoryEntry> entries = new ArrayList<>(Math.max(0, newest - oldest + 1));
+        for (int i = newest; i >= oldest; i--) {
+            PeekHistoryEntry entry = readAt(positions.values[i]);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Number of history records currently stored for a player
+     */
+    public synchronized int count(UUID playerId) {
+        Positions positions = index.get(playerId);
+        return positions != null ? positions.size : 0;
+    }
+
+    /**
+     * Deletes segments whose newest record is older than the cutoff, then the oldest segments beyond
+     * {@code maxSegments}. The segment currently being written is never deleted.
+     * @return number of deleted segments
+     */
+    public synchronized int applyRetention(Instant cutoff, int maxSegments) throws IOException {
+        int deleted = 0;
+        Iterator<Segment> it = segments.values().iterator();
+        while (it.hasNext() && segments.size() > 1) {
+            Segment segment = it.next();
+            boolean expired = segment.newestMillis < cutoff.toEpochMilli();
+            boolean overLimit = maxSegments > 0 && segments.size() > maxSegments;
+            if (!expired && !overLimit) {
+                break;
+            }
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+            it.remove();
+            deleted++;
+        }
+
+        if (deleted > 0) {
+            int oldest = segments.firstKey();
+            index.values().removeIf(positions -> {
+                positions.dropBefore(oldest);
+                return positions.size == 0;
+            });
+        }
+        return deleted;
+    }
+
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            try {
+                segment.channel.force(false);
+                segment.channel.close();
+            } catch (IOException e) {
+                PeekMod.LOGGER.error("Failed to close peek history segment {}", segment.path, e);
+            }
+        }
+        segments.clear();
+        index.clear();
+    }
+
+    // Private helpers
+
+    private Segment writableSegment(int recordBytes) throws IOException {
+        Segment current = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (current != null && current.size + recordBytes <= segmentMaxBytes) {
+            return current;
+        }
+
+        if (current != null) {
+            current.channel.force(false);
+        }
+        int id = current != null ? current.id + 1 : 1;
+        Segment segment = openSegment(id, directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX)));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private Segment openSegment(int id, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, path, channel, channel.size());
+    }
+
+    /**
+     * Indexes every record in a segment. A torn trailing record is truncated in the newest segment, the only
+     * one written to; anywhere else the damage is logged and the rest of the segment skipped.
+     */
+    private void scan(Segment segment, boolean newest) throws IOException {
+        long offset = 0;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        while (offset + Integer.BYTES <= segment.size) {
+            lengthBuffer.clear();
+            readFully(segment.channel, lengthBuffer, offset);
+            int length = lengthBuffer.flip().getInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES || offset + Integer.BYTES + length > segment.size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(segment.channel, payload, offset + Integer.BYTES);
+            payload.flip();
+            UUID owner;
+            PeekHistoryEntry entry;
+            try {
+                owner = new UUID(payload.getLong(), payload.getLong());
+                entry = decodeEntry(payload);
+            } catch (RuntimeException e) {
+                break;
+            }
+
+            index.computeIfAbsent(owner, id -> new Positions()).add(position(segment.id, offset));
+            segment.newestMillis = Math.max(segment.newestMillis, entry.timestamp().toEpochMilli());
+            offset += Integer.BYTES + length;
+        }
+
+        if (offset < segment.size) {
+            if (newest) {
+                PeekMod.LOGGER.warn("Truncating incomplete record at the end of peek history segment {}", segment.path);
+                segment.channel.truncate(offset);
+                segment.size = offset;
+            } else {
+                PeekMod.LOGGER.error("Unreadable record at offset {} of peek history segment {}, skipping the remaining {} bytes",
+                    offset, segment.path, segment.size - offset);
+            }
+        }
+    }
+
+    private PeekHistoryEntry readAt(long position) throws IOException {
+        Segment segment = segments.get(segmentOf(position));
+        if (segment == null) {
+            return null;
+        }
+        long offset = position & 0xFFFFFFFFL;
+
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        readFully(segment.channel, lengthBuffer, offset);
+        int length = lengthBuffer.flip().getInt();
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(segment.channel, payload, offset + Integer.BYTES);
+        payload.flip();
+        payload.position(payload.position() + 2 * Long.BYTES); // skip owner
+        return decodeEntry(payload);
+    }
+
+    private static ByteBuffer encode(UUID playerId, PeekHistoryEntry entry) {
+        byte[] name = entry.otherPlayerName().getBytes(StandardCharsets.UTF_8);
+        int length = 6 * Long.BYTES + Short.BYTES + name.length + Byte.BYTES + 2 * Long.BYTES + Byte.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+        buffer.putInt(length);
+        putUuid(buffer, playerId);
+        putUuid(buffer, entry.sessionId());
+        putUuid(buffer, entry.otherPlayerId());
+        buffer.putShort((short) name.length).put(name);
+        buffer.put(typeCode(entry.type()));
+        buffer.putLong(entry.timestamp().toEpochMilli());
+        buffer.putLong(entry.durationSeconds());
+        buffer.put((byte) (entry.crossedDimension() ? 1 : 0));
+        return buffer.flip();
+    }
+
+    private static PeekHistoryEntry decodeEntry(ByteBuffer payload) {
+        UUID sessionId = new UUID(payload.getLong(), payload.getLong());
+        UUID otherId = new UUID(payload.getLong(), payload.getLong());
+        byte[] name = new byte[payload.getShort() & 0xFFFF];
+        payload.get(name);
+        PeekHistoryEntry.PeekType type = typeOf(payload.get());
+        Instant timestamp = Instant.ofEpochMilli(payload.getLong());
+        long duration = payload.getLong();
+        boolean crossedDimension = payload.get() != 0;
+        return new PeekHistoryEntry(sessionId, otherId, new String(name, StandardCharsets.UTF_8),
+            type, timestamp, duration, crossedDimension);
+    }
+
+    private static byte typeCode(PeekHistoryEntry.PeekType type) {
+        return switch (type) {
+            case PEEKED_OTHER -> TYPE_PEEKED_OTHER;
+            case WAS_PEEKED -> TYPE_WAS_PEEKED;
+        };
+    }
+
+    private static PeekHistoryEntry.PeekType typeOf(byte code) {
+        return switch (code) {
+            case TYPE_PEEKED_OTHER -> PeekHistoryEntry.PeekType.PEEKED_OTHER;
+            case TYPE_WAS_PEEKED -> PeekHistoryEntry.PeekType.WAS_PEEKED;
+            default -> throw new IllegalArgumentException("Unknown peek history type code " + code);
+        };
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of peek history segment");
+            }
+        }
+    }
+
+    private static long position(int segment, long offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    private static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+}
@@ -0,0 +1,56 @@
+package com.peek.data;
+
+import com.mojang.datafixers.util.Pair;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.DynamicOps;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.util.Uuids;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Field codecs whose encoding depends on the {@link DataStorageFormat} being written: JSON keeps readable
+ * strings, the NBT formats store UUIDs as int arrays and times as epoch milliseconds in long tags.
+ * Both encodings are accepted when reading, so a file written before a format change still loads.
+ */
+public final class StorageCodecs {
+    /** UUID as a string in JSON, as four ints in NBT */
+    public static final Codec<UUID> UUID_CODEC = byFormat(
+        Uuids.INT_STREAM_CODEC,
+        Codec.STRING.xmap(UUID::fromString, UUID::toString));
+
+    /** Instant as an ISO-8601 string in JSON, as epoch milliseconds in NBT */
+    public static final Codec<Instant> INSTANT_CODEC = byFormat(
+        Codec.LONG.xmap(Instant::ofEpochMilli, Instant::toEpochMilli),
+        Codec.STRING.xmap(Instant::parse, Instant::toString));
+
+    private StorageCodecs() {}
+
+    private static <A> Codec<A> byFormat(Codec<A> binary, Codec<A> text) {
+        return new Codec<>() {
+            @Override
+            public <T> DataResult<T> encode(A input, DynamicOps<T> ops, T prefix) {
+                return (isBinary(ops) ? binary : text).encode(input, ops, prefix);
+            }
+
+            @Override
+            public <T> DataResult<Pair<A, T>> decode(DynamicOps<T> ops, T input) {
+                Codec<A> preferred = isBinary(ops) ? binary : text;
+                DataResult<Pair<A, T>> decoded = preferred.decode(ops, input);
+                if (decoded.result().isPresent()) {
+                    return decoded;
+                }
+                return (preferred == binary ? text : binary).decode(ops, input);
+            }
+        };
+    }
+
+    /**
+     * Whether the ops write NBT; registry ops forward {@code empty()} to the wrapped ops
+     */
+    private static boolean isBinary(DynamicOps<?> ops) {
+        return ops.empty() instanceof NbtElement;
+    }
+}
@@ -0,0 +1,249 @@
+package com.peek.data.peek;
+
+import com.peek.manager.constants.PeekConstants.SortType;
+import com.peek.manager.constants.PeekConstants.StatsPeriod;
+import com.peek.utils.collection.BucketRing;
+import com.peek.utils.collection.NameIndex;
+
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Live, mutable statistics model. Recording a session touches only the two players involved,
+ * so its cost does not grow with the number of players ever seen.
+ * Leaderboards for every {@link SortType}, a name index and hourly/daily rollups are maintained alongside the counters.
+ * Not thread-safe; the owning manager guards access.
+ * {@link #snapshot()} produces the immutable {@link PeekStatistics} used by the codec layer, and
+ * {@link #drainChanges()} copies only the players changed since it was last called, for saving.
+ */
+public final class MutablePeekStatistics {
+    /**
+     * Copies of what changed since the previous {@link #drainChanges()}
+     * @param full whether every player is included, replacing everything saved before
+     * @param playerStats stats of the changed players
+     * @param playerRollups rollups of the changed players; a {@code null} value means the player has none
+     * @param rollups copy of the global rollups
+     */
+    public record Changes(boolean full, Map<UUID, PlayerPeekStats> playerStats, Map<UUID, PlayerPeekRollups> playerRollups,
+                          long totalPeekSessions, long totalPeekDuration, Instant lastUpdated, PeekRollups rollups) {}
+    
+
+    private final Map<UUID, PlayerPeekCounters> playerStats;
+    private final PeekLeaderboards leaderboards = new PeekLeaderboards();
+    private final NameIndex nameIndex = new NameIndex();
+    private final PeekRollups rollups;
+    private final Map<UUID, PlayerPeekRollups> playerRollups;
+    private long totalPeekSessions;
+    private long totalPeekDuration;
+    private Instant lastUpdated;
+    private final Set<UUID> changedPlayers = new HashSet<>();
+    // A new model has not been drained yet, so the first drain includes everyone
+    private boolean fullDrainNeeded = true;
+    
+    private MutablePeekStatistics(Map<UUID, PlayerPeekCounters> playerStats, long totalPeekSessions,
+                                  long totalPeekDuration, Instant lastUpdated,
+                                  PeekRollups rollups, Map<UUID, PlayerPeekRollups> playerRollups) {
+        this.playerStats = playerStats;
+        this.totalPeekSessions = totalPeekSessions;
+        this.totalPeekDuration = totalPeekDuration;
+        this.lastUpdated = lastUpdated;
+        this.rollups = rollups;
+        this.playerRollups = playerRollups;
+        playerStats.forEach(leaderboards::add);
+        playerStats.forEach((id, counters) -> nameIndex.put(id, counters.getPlayerName()));
+    }
+    
+    public static MutablePeekStatistics createDefault() {
+        return new MutablePeekStatistics(new HashMap<>(), 0L, 0L, Instant.now(), PeekRollups.create(), new HashMap<>());
+    }
+    
+    public static MutablePeekStatistics fromSnapshot(PeekStatistics statistics) {
+        Map<UUID, PlayerPeekCounters> counters = new HashMap<>(Math.max(16, statistics.playerStats().size() * 4 / 3 + 1));
+        statistics.playerStats().forEach((id, stats) -> counters.put(id, PlayerPeekCounters.fromSnapshot(stats)));
+        Instant now = Instant.now();
+        Map<UUID, PlayerPeekRollups> playerRollups = new HashMap<>();
+        statistics.playerRollups().forEach((id, rollups) -> {
+            PlayerPeekRollups copy = rollups.copy();
+            copy.expire(now);
+            // Players with no session in the longest period have nothing left to report
+            if (!copy.isEmpty()) {
+                playerRollups.put(id, copy);
+            }
+        });
+        PeekRollups rollups = statistics.rollups().copy();
+        rollups.expire(now);
+        return new MutablePeekStatistics(counters, statistics.totalPeekSessions(),
+            statistics.totalPeekDuration(), statistics.lastUpdated(), rollups, playerRollups);
+    }
+    
+    /**
+     * Records a peek session, updating both players' counters in place
+     */
+    public void recordPeekSession(UUID peekerId, String peekerName, UUID targetId, String targetName, long durationSeconds) {
+        Instant now = Instant.now();
+        
+        PlayerPeekCounters peekerStats = getOrCreate(peekerId, peekerName, now);
+        leaderboards.remove(peekerId, peekerStats);
+        // Keep the stored name current in case the player was renamed
+        peekerStats.setPlayerName(peekerName);
+        nameIndex.put(peekerId, peekerStats.getPlayerName());
+        peekerStats.recordPeek(durationSeconds, now);
+        leaderboards.add(peekerId, peekerStats);
+        
+        PlayerPeekCounters targetStats = getOrCreate(targetId, targetName, now);
+        leaderboards.remove(targetId, targetStats);
+        targetStats.setPlayerName(targetName);
+        nameIndex.put(targetId, targetStats.getPlayerName());
+        targetStats.recordPeeked(durationSeconds, now);
+        leaderboards.add(targetId, targetStats);
+        
+        rollups.record(now, durationSeconds);
+        playerRollups.computeIfAbsent(peekerId, id -> PlayerPeekRollups.create()).peeks().record(now, durationSeconds);
+        playerRollups.computeIfAbsent(targetId, id -> PlayerPeekRollups.create()).peeked().record(now, durationSeconds);
+        
+        totalPeekSessions++;
+        totalPeekDuration += durationSeconds;
+        lastUpdated = now;
+        changedPlayers.add(peekerId);
+        changedPlayers.add(targetId);
+    }
+    
+    /**
+     * Gets a player's counters, creating and indexing empty ones for a new player
+     */
+    private PlayerPeekCounters getOrCreate(UUID playerId, String playerName, Instant now) {
+        PlayerPeekCounters counters = playerStats.get(playerId);
+        if (counters == null) {
+            counters = PlayerPeekCounters.create(playerName, now);
+            playerStats.put(playerId, counters);
+            leaderboards.add(playerId, counters);
+        }
+        return counters;
+    }
+    
+    /**
+     * Gets an immutable copy of one player's stats, or empty stats if the player is unknown
+     */
+    public PlayerPeekStats getPlayerStats(UUID playerId, String playerName) {
+        PlayerPeekCounters counters = playerStats.get(playerId);
+        return counters != null ? counters.toSnapshot() : PlayerPeekStats.createDefault(playerName);
+    }
+    
+    /**
+     * Gets one page of players in the given order, as immutable snapshots
+     */
+    public List<Map.Entry<UUID, PlayerPeekStats>> getPage(SortType sortType, int page, int pageSize) {
+        return toEntries(leaderboards.range(sortType, page * pageSize, pageSize));
+    }
+    
+    /**
+     * Gets players whose name contains the pattern (case-insensitive), in name order
+     */
+    public List<Map.Entry<UUID, PlayerPeekStats>> searchByName(String pattern, int page, int pageSize) {
+        List<UUID> ids = nameIndex.findContaining(pattern);
+        int from = Math.min(page * pageSize, ids.size());
+        int to = Math.min(from + pageSize, ids.size());
+        return toEntries(ids.subList(from, to));
+    }
+    
+    /**
+     * Gets players whose name starts with the prefix (case-insensitive), in name order
+     */
+    public List<Map.Entry<UUID, PlayerPeekStats>> findByNamePrefix(String prefix, int page, int pageSize) {
+        return toEntries(nameIndex.findByPrefix(prefix, page * pageSize, pageSize));
+    }
+    
+    /**
+     * Gets global session count and duration for a rolling period
+     */
+    public BucketRing.Totals getTotals(StatsPeriod period, Instant now) {
+        return rollups.getTotals(period, now);
+    }
+    
+    /**
+     * Gets a player's rollups, or {@code null} if the player has no recorded sessions since rollups were kept
+     */
+    public PlayerPeekRollups getPlayerRollups(UUID playerId) {
+        PlayerPeekRollups rollups = playerRollups.get(playerId);
+        return rollups != null ? rollups.copy() : null;
+    }
+    
+    private List<Map.Entry<UUID, PlayerPeekStats>> toEntries(List<UUID> ids) {
+        List<Map.Entry<UUID, PlayerPeekStats>> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(id, playerStats.get(id).toSnapshot()));
+        }
+        return result;
+    }
+    
+    /**
+     * Creates an immutable copy of the whole model, first dropping rollups with no bucket left in reach
+     */
+    public PeekStatistics snapshot() {
+        Map<UUID, PlayerPeekStats> copy = new HashMap<>(Math.max(16, playerStats.size() * 4 / 3 + 1));
+        playerStats.forEach((id, counters) -> copy.put(id, counters.toSnapshot()));
+        Instant now = Instant.now();
+        rollups.expire(now);
+        playerRollups.values().removeIf(playerRollup -> {
+            playerRollup.expire(now);
+            return playerRollup.isEmpty();
+        });
+        Map<UUID, PlayerPeekRollups> rollupsCopy = new HashMap<>(Math.max(16, playerRollups.size() * 4 / 3 + 1));
+        playerRollups.forEach((id, playerRollup) -> rollupsCopy.put(id, playerRollup.copy()));
+        return new PeekStatistics(Collections.unmodifiableMap(copy), totalPeekSessions, totalPeekDuration, lastUpdated,
+            rollups.copy(), Collections.unmodifiableMap(rollupsCopy));
+    }
+    
+    /**
+     * Copies the players changed since the previous call, plus the totals, and starts tracking anew.
+     * Costs O(changed players), except for the first call on a new model.
+     */
+    public Changes drainChanges() {
+        Collection<UUID> ids = fullDrainNeeded ? playerStats.keySet() : changedPlayers;
+        Map<UUID, PlayerPeekStats> statsCopy = new HashMap<>(Math.max(16, ids.size() * 4 / 3 + 1));
+        Map<UUID, PlayerPeekRollups> rollupsCopy = new HashMap<>(Math.max(16, ids.size() * 4 / 3 + 1));
+        for (UUID id : ids) {
+            PlayerPeekCounters counters = playerStats.get(id);
+            if (counters != null) {
+                statsCopy.put(id, counters.toSnapshot());
+            }
+            PlayerPeekRollups playerRollup = playerRollups.get(id);
+            rollupsCopy.put(id, playerRollup != null ? playerRollup.copy() : null);
+        }
+        
+        Changes changes = new Changes(fullDrainNeeded, statsCopy, rollupsCopy, totalPeekSessions, totalPeekDuration,
+            lastUpdated, rollups.copy());
+        changedPlayers.clear();
+        fullDrainNeeded = false;
+        return changes;
+    }
+    
+    /**
+     * Drops the rollups of the given players if no bucket is left in reach
+     */
+    public void dropExpiredRollups(Collection<UUID> playerIds, Instant now) {
+        for (UUID id : playerIds) {
+            PlayerPeekRollups playerRollup = playerRollups.get(id);
+            if (playerRollup != null) {
+                playerRollup.expire(now);
+                if (playerRollup.isEmpty()) {
+                    playerRollups.remove(id);
+                }
+            }
+        }
+    }
+    
+    public int getPlayerCount() { return playerStats.size(); }
+    public long getTotalPeekSessions() { return totalPeekSessions; }
+    public long getTotalPeekDuration() { return totalPeekDuration; }
+    public Instant getLastUpdated() { return lastUpdated; }
+}
@@ -2,6 +2,7 @@ package com.peek.data.peek;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.peek.data.StorageCodecs;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -25,11 +26,11 @@ public record PeekHistoryEntry(
     }
     
     public static final Codec<PeekHistoryEntry> CODEC = RecordCodecBuilder.create(instance -> instance.group(
-        Codec.STRING.xmap(UUID::fromString, UUID::toString).fieldOf("sessionId").forGetter(PeekHistoryEntry::sessionId),
-        Codec.STRING.xmap(UUID::fromString, UUID::toString).fieldOf("otherPlayerId").forGetter(PeekHistoryEntry::otherPlayerId),
+        StorageCodecs.UUID_CODEC.fieldOf("sessionId").forGetter(PeekHistoryEntry::sessionId),
+        StorageCodecs.UUID_CODEC.fieldOf("otherPlayerId").forGetter(PeekHistoryEntry::otherPlayerId),
         Codec.STRING.fieldOf("otherPlayerName").forGetter(PeekHistoryEntry::otherPlayerName),
         Codec.STRING.xmap(PeekType::valueOf, PeekType::name).fieldOf("type").forGetter(PeekHistoryEntry::type),
-        Codec.STRING.xmap(Instant::parse, Instant::toString).fieldOf("timestamp").forGetter(PeekHistoryEntry::timestamp),
+        StorageCodecs.INSTANT_CODEC.fieldOf("timestamp").forGetter(PeekHistoryEntry::timestamp),
         Codec.LONG.fieldOf("durationSeconds").forGetter(PeekHistoryEntry::durationSeconds),
         Codec.BOOL.optionalFieldOf("crossedDimension", false).forGetter(PeekHistoryEntry::crossedDimension)
     ).apply(instance, PeekHistoryEntry::new));
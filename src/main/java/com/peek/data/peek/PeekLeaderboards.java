@@ -0,0 +1,77 @@
+package com.peek.data.peek;
+
+import com.peek.manager.constants.PeekConstants.SortType;
+import com.peek.utils.collection.OrderStatisticTree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ranked indexes over player counters, one per {@link SortType}.
+ * Each index is kept sorted as counters change, so reading a page costs O(log n + pageSize)
+ * instead of sorting every player on each request.
+ * Not thread-safe; the owning {@link MutablePeekStatistics} guards access.
+ */
+final class PeekLeaderboards {
+    
+    private record RankKey(long score, String sortName, UUID playerId) {}
+    
+    // Highest score first; ties broken by UUID so every key is unique
+    private static final Comparator<RankKey> BY_SCORE_DESC = Comparator
+        .comparingLong(RankKey::score).reversed()
+        .thenComparing(RankKey::playerId);
+    
+    private static final Comparator<RankKey> BY_NAME = Comparator
+        .comparing(RankKey::sortName)
+        .thenComparing(RankKey::playerId);
+    
+    private final Map<SortType, OrderStatisticTree<RankKey>> boards = new EnumMap<>(SortType.class);
+    
+    PeekLeaderboards() {
+        for (SortType type : SortType.values()) {
+            boards.put(type, new OrderStatisticTree<>(type == SortType.PLAYER_NAME ? BY_NAME : BY_SCORE_DESC));
+        }
+    }
+    
+    /**
+     * Indexes a player's current counters. Call {@link #remove} with the same state before mutating them.
+     */
+    void add(UUID playerId, PlayerPeekCounters counters) {
+        boards.forEach((type, board) -> board.add(keyFor(type, playerId, counters)));
+    }
+    
+    void remove(UUID playerId, PlayerPeekCounters counters) {
+        boards.forEach((type, board) -> board.remove(keyFor(type, playerId, counters)));
+    }
+    
+    /**
+     * Gets the player ids at ranks {@code offset} to {@code offset + limit - 1} for the given ordering
+     */
+    List<UUID> range(SortType sortType, int offset, int limit) {
+        List<RankKey> keys = boards.get(sortType).range(offset, limit);
+        List<UUID> ids = new ArrayList<>(keys.size());
+        for (RankKey key : keys) {
+            ids.add(key.playerId());
+        }
+        return ids;
+    }
+    
+    private static RankKey keyFor(SortType type, UUID playerId, PlayerPeekCounters counters) {
+        return switch (type) {
+            case PEEK_COUNT -> new RankKey(counters.getPeekCount(), null, playerId);
+            case PEEKED_COUNT -> new RankKey(counters.getPeekedCount(), null, playerId);
+            case TOTAL_DURATION -> new RankKey(counters.getTotalPeekDuration(), null, playerId);
+            case LAST_ACTIVITY -> new RankKey(counters.getLastPeekTime().toEpochMilli(), null, playerId);
+            case PLAYER_NAME -> new RankKey(0L, foldName(counters.getPlayerName()), playerId);
+        };
+    }
+    
+    private static String foldName(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,8 @@
 package com.peek.data.peek;
 
+import com.peek.utils.PeekClock;
+import com.peek.utils.TickTaskManager;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -12,10 +15,15 @@ public class PeekRequest {
     private final UUID targetId;
     private final String requesterName;
     private final String targetName;
-    private final Instant createdAt;
-    private final Instant expiresAt;
+    // Ticks of PeekClock
+    private final long createdTick;
+    private final long expiresTick;
     private RequestStatus status;
     
+    // Pending scheduler work, cancelled as soon as the request is removed
+    private TickTaskManager.TickTask expiryTask;
+    private TickTaskManager.TickTask autoAcceptTask;
+    
     public enum RequestStatus {
         PENDING,
         ACCEPTED,
@@ -30,18 +38,18 @@ public class PeekRequest {
         this.targetId = targetId;
         this.requesterName = requesterName;
         this.targetName = targetName;
-        this.createdAt = Instant.now();
-        this.expiresAt = createdAt.plusSeconds(timeoutSeconds);
+        this.createdTick = PeekClock.now();
+        this.expiresTick = createdTick + PeekClock.secondsToTicks(timeoutSeconds);
         this.status = RequestStatus.PENDING;
     }
     
     public boolean isExpired() {
-        return Instant.now().isAfter(expiresAt) && status == RequestStatus.PENDING;
+        return PeekClock.hasReached(expiresTick) && status == RequestStatus.PENDING;
     }
     
     public long getRemainingSeconds() {
         if (isExpired()) return 0;
-        return Math.max(0, expiresAt.getEpochSecond() - Instant.now().getEpochSecond());
+        return PeekClock.secondsUntil(expiresTick);
     }
     
     // Getters
@@ -50,8 +58,8 @@ public class PeekRequest {
     public UUID getTargetId() { return targetId; }
     public String getRequesterName() { return requesterName; }
     public String getTargetName() { return targetName; }
-    public Instant getCreatedAt() { return createdAt; }
-    public Instant getExpiresAt() { return expiresAt; }
+    public Instant getCreatedAt() { return PeekClock.toInstant(createdTick); }
+    public Instant getExpiresAt() { return PeekClock.toInstant(expiresTick); }
     public RequestStatus getStatus() { return status; }
     
     // Status management
@@ -60,4 +68,22 @@ public class PeekRequest {
     public boolean canAccept() { return status == RequestStatus.PENDING && !isExpired(); }
     public boolean canDeny() { return status == RequestStatus.PENDING && !isExpired(); }
     public boolean canCancel() { return status == RequestStatus.PENDING; }
+    
+    // Scheduled task management
+    public synchronized void setExpiryTask(TickTaskManager.TickTask expiryTask) { this.expiryTask = expiryTask; }
+    public synchronized void setAutoAcceptTask(TickTaskManager.TickTask autoAcceptTask) { this.autoAcceptTask = autoAcceptTask; }
+    
+    /**
+     * Cancels the pending expiry and auto-accept tasks, if any
+     */
+    public synchronized void cancelScheduledTasks() {
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
+        }
+        if (autoAcceptTask != null) {
+            autoAcceptTask.cancel();
+            autoAcceptTask = null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.peek.data.peek;
+
+import com.mojang.datafixers.util.Either;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.peek.manager.constants.PeekConstants.StatsPeriod;
+import com.peek.utils.collection.BucketRing;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Pre-aggregated session counts and durations in hourly and daily buckets (UTC).
+ * Recording a session touches one bucket of each ring, and every {@link StatsPeriod}
+ * is answered by summing a fixed number of buckets.
+ * Not thread-safe; the owning statistics model guards access.
+ */
+public final class PeekRollups {
+    public static final int HOURLY_BUCKETS = 24;
+    public static final int DAILY_BUCKETS = 30;
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    // Earlier layout: one object per occupied bucket
+    private record Bucket(long bucket, long sessions, long duration) {
+        static final Codec<Bucket> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.LONG.fieldOf("bucket").forGetter(Bucket::bucket),
+            Codec.LONG.fieldOf("sessions").forGetter(Bucket::sessions),
+            Codec.LONG.fieldOf("duration").forGetter(Bucket::duration)
+        ).apply(instance, Bucket::new));
+    }
+
+    // A ring is stored as its oldest bucket number plus one array entry per bucket up to the newest
+    private static final Codec<BucketRing.Packed> PACKED_CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        Codec.LONG.fieldOf("base").forGetter(BucketRing.Packed::base),
+        Codec.INT_STREAM.xmap(IntStream::toArray, Arrays::stream).fieldOf("sessions").forGetter(BucketRing.Packed::counts),
+        Codec.LONG_STREAM.xmap(LongStream::toArray, Arrays::stream).fieldOf("durations").forGetter(BucketRing.Packed::amounts)
+    ).apply(instance, BucketRing.Packed::new));
+
+    public static final Codec<PeekRollups> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        ringCodec(HOURLY_BUCKETS).optionalFieldOf("hourly").forGetter(rollups -> Optional.of(rollups.hourly)),
+        ringCodec(DAILY_BUCKETS).optionalFieldOf("daily").forGetter(rollups -> Optional.of(rollups.daily))
+    ).apply(instance, (hourly, daily) -> new PeekRollups(
+        hourly.orElseGet(() -> new BucketRing(HOURLY_BUCKETS)), daily.orElseGet(() -> new BucketRing(DAILY_BUCKETS)))));
+
+    private final BucketRing hourly;
+    private final BucketRing daily;
+
+    private PeekRollups(BucketRing hourly, BucketRing daily) {
+        this.hourly = hourly;
+        this.daily = daily;
+    }
+
+    public static PeekRollups create() {
+        return new PeekRollups(new BucketRing(HOURLY_BUCKETS), new BucketRing(DAILY_BUCKETS));
+    }
+
+    /**
+     * Adds one session of the given duration at the given time
+     */
+    public void record(Instant at, long durationSeconds) {
+        long millis = at.toEpochMilli();
+        hourly.add(Math.floorDiv(millis, MILLIS_PER_HOUR), 1, durationSeconds);
+        daily.add(Math.floorDiv(millis, MILLIS_PER_DAY), 1, durationSeconds);
+    }
+
+    /**
+     * Gets session count and total duration for the period ending now.
+     * Windows are bucket-aligned, so the oldest bucket may be partially outside the period.
+     */
+    public BucketRing.Totals getTotals(StatsPeriod period, Instant now) {
+        long millis = now.toEpochMilli();
+        return period.isDaily()
+            ? daily.sum(Math.floorDiv(millis, MILLIS_PER_DAY), period.getBuckets())
+            : hourly.sum(Math.floorDiv(millis, MILLIS_PER_HOUR), period.getBuckets());
+    }
+
+    /**
+     * Forgets buckets too old to be part of any period ending now
+     */
+    public void expire(Instant now) {
+        long millis = now.toEpochMilli();
+        hourly.expire(Math.floorDiv(millis, MILLIS_PER_HOUR));
+        daily.expire(Math.floorDiv(millis, MILLIS_PER_DAY));
+    }
+
+    /**
+     * Whether no session is recorded in any bucket; call {@link #expire} first to ignore old buckets
+     */
+    public boolean isEmpty() {
+        return hourly.isEmpty() && daily.isEmpty();
+    }
+
+    public PeekRollups copy() {
+        return new PeekRollups(hourly.copy(), daily.copy());
+    }
+
+    /**
+     * Codec for one ring, reading both the packed layout and the earlier list of buckets
+     */
+    private static Codec<BucketRing> ringCodec(int capacity) {
+        return Codec.either(PACKED_CODEC, Bucket.CODEC.listOf()).xmap(
+            stored -> stored.map(packed -> BucketRing.unpack(capacity, packed), buckets -> {
+                BucketRing ring = new BucketRing(capacity);
+                buckets.forEach(b -> ring.add(b.bucket(), b.sessions(), b.duration()));
+                return ring;
+            }),
+            ring -> Either.left(ring.pack()));
+    }
+}
@@ -1,7 +1,10 @@
 package com.peek.data.peek;
 
+import com.peek.utils.PeekClock;
+import com.peek.utils.TickTaskManager;
 import net.minecraft.util.math.Vec3d;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -14,8 +17,11 @@ public class PeekSession {
     private final UUID targetId;
     private final String peekerName;
     private final String targetName;
+    // Ticks of PeekClock, for the grace period and check timing
+    private final long startTick;
+    // Wall-clock time, for the duration recorded in statistics and history
     private final Instant startTime;
-    private Instant lastUpdateTime;
+    private Instant endTime;
     
     // Original states for restoration
     private final PlayerState originalPeekerState;
@@ -23,18 +29,28 @@ public class PeekSession {
     
     // Current session state
     private boolean isActive;
-    private Vec3d lastKnownTargetPosition;
     private UUID currentWorldId;
-    private Vec3d lastKnownPeekerPosition;  // Track peeker position for distance check
+    // Last known positions as primitives so updates allocate nothing
+    private boolean hasTargetPosition;
+    private double targetX, targetY, targetZ;
+    private boolean hasPeekerPosition;  // Track peeker position for distance check
+    private double peekerX, peekerY, peekerZ;
+    private long lastUpdateTick;
+    private double movementSinceUpdate = -1;  // Distance both players covered between the last two position updates
+    private int ticksSinceUpdate;
+    private TickTaskManager.TickTask timeoutTask;  // Pending auto-stop, if the session has a time limit
+    private TickTaskManager.TickTask checkTask;  // Next distance/state check
     
-    public PeekSession(UUID peekerId, UUID targetId, String peekerName, String targetName, PlayerState originalState, UUID worldId) {
+    public PeekSession(UUID peekerId, UUID targetId, String peekerName, String targetName, PlayerState originalState,
+                       UUID worldId) {
         this.id = UUID.randomUUID();
         this.peekerId = peekerId;
         this.targetId = targetId;
         this.peekerName = peekerName;
         this.targetName = targetName;
+        this.startTick = PeekClock.now();
         this.startTime = Instant.now();
-        this.lastUpdateTime = startTime;
+        this.lastUpdateTick = startTick;
         this.originalPeekerState = originalState;
         this.originalWorldId = worldId;
         this.currentWorldId = worldId;
@@ -42,30 +58,97 @@ public class PeekSession {
     }
     
     public void updateTargetPosition(Vec3d position, UUID worldId) {
-        this.lastKnownTargetPosition = position;
+        setTargetPosition(position.x, position.y, position.z);
         this.currentWorldId = worldId;
-        this.lastUpdateTime = Instant.now();
     }
     
-    public void updatePeekerPosition(Vec3d position) {
-        this.lastKnownPeekerPosition = position;
-        this.lastUpdateTime = Instant.now();
+    /**
+     * Records both players' positions from a session check, along with how far they moved since the last one
+     */
+    public void updatePositions(Vec3d targetPosition, UUID worldId, Vec3d peekerPosition, long tick) {
+        this.movementSinceUpdate = hasTargetPosition && hasPeekerPosition
+            ? distance(targetX, targetY, targetZ, targetPosition.x, targetPosition.y, targetPosition.z)
+                + distance(peekerX, peekerY, peekerZ, peekerPosition.x, peekerPosition.y, peekerPosition.z)
+            : -1;
+        this.ticksSinceUpdate = (int) (tick - lastUpdateTick);
+        this.lastUpdateTick = tick;
+        
+        setTargetPosition(targetPosition.x, targetPosition.y, targetPosition.z);
+        this.currentWorldId = worldId;
+        this.peekerX = peekerPosition.x;
+        this.peekerY = peekerPosition.y;
+        this.peekerZ = peekerPosition.z;
+        this.hasPeekerPosition = true;
     }
     
-    public double getDistanceFromTarget() {
-        if (lastKnownTargetPosition == null || lastKnownPeekerPosition == null) {
+    public double getSquaredDistanceFromTarget() {
+        if (!hasTargetPosition || !hasPeekerPosition) {
             return 0.0;
         }
-        return lastKnownTargetPosition.distanceTo(lastKnownPeekerPosition);
+        double dx = targetX - peekerX;
+        double dy = targetY - peekerY;
+        double dz = targetZ - peekerZ;
+        return dx * dx + dy * dy + dz * dz;
+    }
+    
+    public double getDistanceFromTarget() {
+        return Math.sqrt(getSquaredDistanceFromTarget());
+    }
+    
+    /**
+     * Average speed of both players combined over the last two position updates, in blocks per tick
+     * @return the speed, or -1 if fewer than two updates with known positions were recorded
+     */
+    public double getRecentSpeed() {
+        return ticksSinceUpdate > 0 && movementSinceUpdate >= 0 ? movementSinceUpdate / ticksSinceUpdate : -1;
     }
     
     public void markInactive() {
+        if (isActive) {
+            this.endTime = Instant.now();
+        }
         this.isActive = false;
     }
     
+    public synchronized void setTimeoutTask(TickTaskManager.TickTask timeoutTask) {
+        this.timeoutTask = timeoutTask;
+    }
+    
+    public synchronized void setCheckTask(TickTaskManager.TickTask checkTask) {
+        if (this.checkTask != null) {
+            this.checkTask.cancel();
+        }
+        this.checkTask = checkTask;
+    }
+    
+    /**
+     * Ticks until the pending check runs, or {@link Integer#MAX_VALUE} when none is scheduled
+     */
+    public synchronized int getTicksUntilCheck() {
+        return checkTask != null && checkTask.isPending() ? checkTask.getRemainingTicks() : Integer.MAX_VALUE;
+    }
+    
+    /**
+     * Cancels the pending auto-stop and check so the scheduler drops them right away
+     */
+    public synchronized void cancelScheduledTasks() {
+        if (timeoutTask != null) {
+            timeoutTask.cancel();
+            timeoutTask = null;
+        }
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+    }
+    
+    /**
+     * Real time the session has lasted, or lasted until it ended; unlike ticks this does not stretch when the
+     * server lags
+     */
     public long getDurationSeconds() {
-        Instant endTime = isActive ? Instant.now() : lastUpdateTime;
-        return endTime.getEpochSecond() - startTime.getEpochSecond();
+        Instant end = isActive || endTime == null ? Instant.now() : endTime;
+        return Math.max(0, Duration.between(startTime, end).getSeconds());
     }
     
     public boolean hasCrossedDimension() {
@@ -79,11 +162,28 @@ public class PeekSession {
     public String getPeekerName() { return peekerName; }
     public String getTargetName() { return targetName; }
     public Instant getStartTime() { return startTime; }
-    public Instant getLastUpdateTime() { return lastUpdateTime; }
+    public long getStartTick() { return startTick; }
+    public long getLastUpdateTick() { return lastUpdateTick; }
     public PlayerState getOriginalPeekerState() { return originalPeekerState; }
     public UUID getOriginalWorldId() { return originalWorldId; }
     public boolean isActive() { return isActive; }
-    public Vec3d getLastKnownTargetPosition() { return lastKnownTargetPosition; }
     public UUID getCurrentWorldId() { return currentWorldId; }
-    public Vec3d getLastKnownPeekerPosition() { return lastKnownPeekerPosition; }
+    public boolean hasTargetPosition() { return hasTargetPosition; }
+    public double getTargetX() { return targetX; }
+    public double getTargetY() { return targetY; }
+    public double getTargetZ() { return targetZ; }
+    
+    private void setTargetPosition(double x, double y, double z) {
+        this.targetX = x;
+        this.targetY = y;
+        this.targetZ = z;
+        this.hasTargetPosition = true;
+    }
+    
+    private static double distance(double x1, double y1, double z1, double x2, double y2, double z2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        double dz = z1 - z2;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
 }
\ No newline at end of file
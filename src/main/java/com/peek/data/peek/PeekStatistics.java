@@ -2,18 +2,22 @@ package com.peek.data.peek;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.peek.data.StorageCodecs;
 
 import java.time.Instant;
 import java.util.*;
 
 /**
- * Stores global peek statistics and individual player statistics
+ * Immutable snapshot of global peek statistics and individual player statistics.
+ * Live updates go through {@link MutablePeekStatistics}.
  */
 public record PeekStatistics(
     Map<UUID, PlayerPeekStats> playerStats,
     long totalPeekSessions,
     long totalPeekDuration,
-    Instant lastUpdated
+    Instant lastUpdated,
+    PeekRollups rollups,
+    Map<UUID, PlayerPeekRollups> playerRollups
 ) {
     
     public static final Codec<PeekStatistics> CODEC = RecordCodecBuilder.create(instance -> instance.group(
@@ -23,36 +27,17 @@ public record PeekStatistics(
         ).optionalFieldOf("playerStats", new HashMap<>()).forGetter(PeekStatistics::playerStats),
         Codec.LONG.optionalFieldOf("totalPeekSessions", 0L).forGetter(PeekStatistics::totalPeekSessions),
         Codec.LONG.optionalFieldOf("totalPeekDuration", 0L).forGetter(PeekStatistics::totalPeekDuration),
-        Codec.STRING.xmap(Instant::parse, Instant::toString)
-            .optionalFieldOf("lastUpdated", Instant.now()).forGetter(PeekStatistics::lastUpdated)
+        StorageCodecs.INSTANT_CODEC
+            .optionalFieldOf("lastUpdated", Instant.now()).forGetter(PeekStatistics::lastUpdated),
+        PeekRollups.CODEC.optionalFieldOf("rollups", PeekRollups.create()).forGetter(PeekStatistics::rollups),
+        Codec.unboundedMap(
+            Codec.STRING.xmap(UUID::fromString, UUID::toString),
+            PlayerPeekRollups.CODEC
+        ).optionalFieldOf("playerRollups", new HashMap<>()).forGetter(PeekStatistics::playerRollups)
     ).apply(instance, PeekStatistics::new));
     
     public static PeekStatistics createDefault() {
-        return new PeekStatistics(new HashMap<>(), 0L, 0L, Instant.now());
-    }
-    
-    /**
-     * Records a peek session
-     */
-    public PeekStatistics recordPeekSession(UUID peekerId, String peekerName, UUID targetId, String targetName, long durationSeconds) {
-        Map<UUID, PlayerPeekStats> newPlayerStats = new HashMap<>(playerStats);
-        
-        // Update peeker stats
-        PlayerPeekStats peekerStats = newPlayerStats.getOrDefault(peekerId, PlayerPeekStats.createDefault(peekerName));
-        peekerStats = peekerStats.incrementPeekCount().addPeekDuration(durationSeconds);
-        newPlayerStats.put(peekerId, peekerStats);
-        
-        // Update target stats
-        PlayerPeekStats targetStats = newPlayerStats.getOrDefault(targetId, PlayerPeekStats.createDefault(targetName));
-        targetStats = targetStats.incrementPeekedCount().addPeekedDuration(durationSeconds);
-        newPlayerStats.put(targetId, targetStats);
-        
-        return new PeekStatistics(
-            newPlayerStats,
-            totalPeekSessions + 1,
-            totalPeekDuration + durationSeconds,
-            Instant.now()
-        );
+        return new PeekStatistics(new HashMap<>(), 0L, 0L, Instant.now(), PeekRollups.create(), new HashMap<>());
     }
     
     /**
@@ -62,33 +47,6 @@ public record PeekStatistics(
         return playerStats.getOrDefault(playerId, PlayerPeekStats.createDefault(playerName));
     }
     
-    /**
-     * Gets all players sorted by peek count (descending)
-     */
-    public List<Map.Entry<UUID, PlayerPeekStats>> getTopPeekers() {
-        return playerStats.entrySet().stream()
-            .sorted((a, b) -> Long.compare(b.getValue().peekCount(), a.getValue().peekCount()))
-            .toList();
-    }
-    
-    /**
-     * Gets all players sorted by peeked count (descending)  
-     */
-    public List<Map.Entry<UUID, PlayerPeekStats>> getMostPeeked() {
-        return playerStats.entrySet().stream()
-            .sorted((a, b) -> Long.compare(b.getValue().peekedCount(), a.getValue().peekedCount()))
-            .toList();
-    }
-    
-    /**
-     * Gets all players sorted by total duration (descending)
-     */
-    public List<Map.Entry<UUID, PlayerPeekStats>> getTopByDuration() {
-        return playerStats.entrySet().stream()
-            .sorted((a, b) -> Long.compare(b.getValue().totalPeekDuration(), a.getValue().totalPeekDuration()))
-            .toList();
-    }
-    
     /**
      * Gets paginated results
      */
@@ -0,0 +1,73 @@
+package com.peek.data.peek;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The statistics as last handed to storage, kept between saves and updated from
+ * {@link MutablePeekStatistics#drainChanges()}, so a save only copies the players that changed.
+ * <p>
+ * Used from the save thread only. The maps of a {@link PeekStatistics} from {@link #toStatistics()} are
+ * views that stay unchanged until the next {@link #apply}, which the saver only calls once the previous
+ * save has finished.
+ */
+public final class PersistedPeekStatistics {
+    private final Map<UUID, PlayerPeekStats> playerStats = new HashMap<>();
+    private final Map<UUID, PlayerPeekRollups> playerRollups = new HashMap<>();
+    private long totalPeekSessions;
+    private long totalPeekDuration;
+    private Instant lastUpdated = Instant.now();
+    private PeekRollups rollups = PeekRollups.create();
+    
+    /**
+     * Merges the changes into the saved copy
+     */
+    public void apply(MutablePeekStatistics.Changes changes) {
+        if (changes.full()) {
+            playerStats.clear();
+            playerRollups.clear();
+        }
+        playerStats.putAll(changes.playerStats());
+        changes.playerRollups().forEach((id, playerRollup) -> {
+            if (playerRollup != null) {
+                playerRollups.put(id, playerRollup);
+            } else {
+                playerRollups.remove(id);
+            }
+        });
+        totalPeekSessions = changes.totalPeekSessions();
+        totalPeekDuration = changes.totalPeekDuration();
+        lastUpdated = changes.lastUpdated();
+        rollups = changes.rollups();
+    }
+    
+    /**
+     * Drops the saved rollups with no bucket left in reach
+     * @return the players whose rollups were dropped, so the live model can drop them too
+     */
+    public List<UUID> pruneExpiredRollups(Instant now) {
+        List<UUID> expired = new ArrayList<>();
+        rollups.expire(now);
+        Iterator<Map.Entry<UUID, PlayerPeekRollups>> iterator = playerRollups.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, PlayerPeekRollups> entry = iterator.next();
+            entry.getValue().expire(now);
+            if (entry.getValue().isEmpty()) {
+                iterator.remove();
+                expired.add(entry.getKey());
+            }
+        }
+        return expired;
+    }
+    
+    public PeekStatistics toStatistics() {
+        return new PeekStatistics(Collections.unmodifiableMap(playerStats), totalPeekSessions, totalPeekDuration,
+            lastUpdated, rollups, Collections.unmodifiableMap(playerRollups));
+    }
+}
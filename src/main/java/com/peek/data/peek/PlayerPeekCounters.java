@@ -0,0 +1,89 @@
+package com.peek.data.peek;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable per-player peek counters, updated in place when a session is recorded.
+ * Not thread-safe; callers guard access (see {@link MutablePeekStatistics}).
+ * Use {@link #toSnapshot()} to hand an immutable {@link PlayerPeekStats} to commands or codecs.
+ */
+public final class PlayerPeekCounters {
+    private String playerName;
+    private long peekCount;
+    private long peekedCount;
+    private long totalPeekDuration;
+    private long totalPeekedDuration;
+    private Instant firstPeekTime;
+    private Instant lastPeekTime;
+    private final List<PeekHistoryEntry> recentHistory;
+    
+    private PlayerPeekCounters(String playerName, long peekCount, long peekedCount, long totalPeekDuration,
+                               long totalPeekedDuration, Instant firstPeekTime, Instant lastPeekTime,
+                               List<PeekHistoryEntry> recentHistory) {
+        this.playerName = playerName;
+        this.peekCount = peekCount;
+        this.peekedCount = peekedCount;
+        this.totalPeekDuration = totalPeekDuration;
+        this.totalPeekedDuration = totalPeekedDuration;
+        this.firstPeekTime = firstPeekTime;
+        this.lastPeekTime = lastPeekTime;
+        this.recentHistory = recentHistory;
+    }
+    
+    public static PlayerPeekCounters create(String playerName, Instant now) {
+        return new PlayerPeekCounters(playerName, 0L, 0L, 0L, 0L, now, now, new ArrayList<>());
+    }
+    
+    public static PlayerPeekCounters fromSnapshot(PlayerPeekStats stats) {
+        return new PlayerPeekCounters(
+            stats.playerName(), stats.peekCount(), stats.peekedCount(),
+            stats.totalPeekDuration(), stats.totalPeekedDuration(),
+            stats.firstPeekTime(), stats.lastPeekTime(), new ArrayList<>(stats.recentHistory())
+        );
+    }
+    
+    /**
+     * Records that this player peeked someone else
+     */
+    public void recordPeek(long durationSeconds, Instant now) {
+        peekCount++;
+        totalPeekDuration += durationSeconds;
+        lastPeekTime = now;
+    }
+    
+    /**
+     * Records that this player was peeked by someone else
+     */
+    public void recordPeeked(long durationSeconds, Instant now) {
+        peekedCount++;
+        totalPeekedDuration += durationSeconds;
+        lastPeekTime = now;
+    }
+    
+    public void setPlayerName(String playerName) {
+        if (playerName != null) {
+            this.playerName = playerName;
+        }
+    }
+    
+    /**
+     * Creates an immutable copy of the current counters
+     */
+    public PlayerPeekStats toSnapshot() {
+        return new PlayerPeekStats(
+            playerName, peekCount, peekedCount, totalPeekDuration, totalPeekedDuration,
+            firstPeekTime, lastPeekTime, List.copyOf(recentHistory)
+        );
+    }
+    
+    // Getters
+    public String getPlayerName() { return playerName; }
+    public long getPeekCount() { return peekCount; }
+    public long getPeekedCount() { return peekedCount; }
+    public long getTotalPeekDuration() { return totalPeekDuration; }
+    public long getTotalPeekedDuration() { return totalPeekedDuration; }
+    public Instant getFirstPeekTime() { return firstPeekTime; }
+    public Instant getLastPeekTime() { return lastPeekTime; }
+}
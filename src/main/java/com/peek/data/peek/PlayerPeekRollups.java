@@ -0,0 +1,43 @@
+package com.peek.data.peek;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import java.time.Instant;
+
+/**
+ * Time-bucketed rollups for one player, split by role in the session
+ */
+public record PlayerPeekRollups(
+    PeekRollups peeks,
+    PeekRollups peeked
+) {
+
+    public static final Codec<PlayerPeekRollups> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        PeekRollups.CODEC.fieldOf("peeks").forGetter(PlayerPeekRollups::peeks),
+        PeekRollups.CODEC.fieldOf("peeked").forGetter(PlayerPeekRollups::peeked)
+    ).apply(instance, PlayerPeekRollups::new));
+
+    public static PlayerPeekRollups create() {
+        return new PlayerPeekRollups(PeekRollups.create(), PeekRollups.create());
+    }
+
+    /**
+     * Forgets buckets too old to be part of any period ending now
+     */
+    public void expire(Instant now) {
+        peeks.expire(now);
+        peeked.expire(now);
+    }
+
+    /**
+     * Whether nothing is recorded in either role; call {@link #expire} first to ignore old buckets
+     */
+    public boolean isEmpty() {
+        return peeks.isEmpty() && peeked.isEmpty();
+    }
+
+    public PlayerPeekRollups copy() {
+        return new PlayerPeekRollups(peeks.copy(), peeked.copy());
+    }
+}
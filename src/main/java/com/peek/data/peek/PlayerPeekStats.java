@@ -2,6 +2,7 @@ package com.peek.data.peek;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.peek.data.StorageCodecs;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -27,9 +28,9 @@ public record PlayerPeekStats(
         Codec.LONG.optionalFieldOf("peekedCount", 0L).forGetter(PlayerPeekStats::peekedCount),
         Codec.LONG.optionalFieldOf("totalPeekDuration", 0L).forGetter(PlayerPeekStats::totalPeekDuration),
         Codec.LONG.optionalFieldOf("totalPeekedDuration", 0L).forGetter(PlayerPeekStats::totalPeekedDuration),
-        Codec.STRING.xmap(Instant::parse, Instant::toString)
+        StorageCodecs.INSTANT_CODEC
             .optionalFieldOf("firstPeekTime", Instant.now()).forGetter(PlayerPeekStats::firstPeekTime),
-        Codec.STRING.xmap(Instant::parse, Instant::toString)
+        StorageCodecs.INSTANT_CODEC
             .optionalFieldOf("lastPeekTime", Instant.now()).forGetter(PlayerPeekStats::lastPeekTime),
         Codec.list(PeekHistoryEntry.CODEC)
             .optionalFieldOf("recentHistory", new ArrayList<>()).forGetter(PlayerPeekStats::recentHistory)
@@ -3,6 +3,7 @@ package com.peek.data.peek;
 // Using Mojang Codec for robust serialization of complex structures
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.peek.utils.WorldIds;
 import com.peek.utils.compat.ProfileCompat;
 import com.peek.utils.compat.ServerPlayerCompat;
 import net.minecraft.entity.effect.StatusEffectInstance;
@@ -51,9 +52,7 @@ public record PlayerState(
     public static PlayerState capture(ServerPlayerEntity player, RegistryWrapper.WrapperLookup registryLookup) {
         // Capture position and world
         Vec3d position = ServerPlayerCompat.getPos(player);
-        UUID worldId = ServerPlayerCompat.getWorld(player).getRegistryKey().getValue().hashCode() != 0 ?
-            UUID.nameUUIDFromBytes(ServerPlayerCompat.getWorld(player).getRegistryKey().getValue().toString().getBytes()) :
-            UUID.randomUUID();
+        UUID worldId = WorldIds.getId(ServerPlayerCompat.getWorld(player));
         
         // Capture game mode
         GameMode gameMode = player.interactionManager.getGameMode();
@@ -139,23 +138,12 @@ public record PlayerState(
      */
     private void restorePosition(ServerPlayerEntity player) {
         try {
-            // Find the target world
-            ServerWorld targetWorld = null;
-
-            // Try to find the world by comparing world registry key hash
             if (ServerPlayerCompat.getServer(player) == null) {
                 return;
             }
 
-            for (ServerWorld world : ServerPlayerCompat.getServer(player).getWorlds()) {
-                UUID currentWorldId = UUID.nameUUIDFromBytes(
-                    world.getRegistryKey().getValue().toString().getBytes()
-                );
-                if (currentWorldId.equals(worldId)) {
-                    targetWorld = world;
-                    break;
-                }
-            }
+            // Find the target world by its id
+            ServerWorld targetWorld = WorldIds.getWorld(ServerPlayerCompat.getServer(player), worldId);
             
             // If world not found, use the current world as fallback
             if (targetWorld == null) {
@@ -4,10 +4,10 @@ import com.peek.config.ModConfigManager;
 import com.peek.manager.constants.ErrorCodes;
 import com.peek.manager.exceptions.RequestException;
 import com.peek.manager.constants.PeekConstants;
+import com.peek.utils.PeekClock;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 
-import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -17,7 +17,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class InviteManager extends BaseManager {
     
-    // Map of inviter -> set of invitees with expiration times
+    // Map of inviter -> set of invitees with expiration ticks (PeekClock)
     private final Map<UUID, Map<UUID, Long>> activeInvites = new ConcurrentHashMap<>();
     
     public InviteManager() {
@@ -37,11 +37,7 @@ public class InviteManager extends BaseManager {
                 throw new RequestException(ErrorCodes.DUPLICATE_INVITE, Text.translatable("peek.error.duplicate_invite").getString());
             }
             
-            long expirationTime = Instant.now().toEpochMilli() + 
-                (ModConfigManager.getInviteExpirationSeconds() * 1000L);
-            
-            activeInvites.computeIfAbsent(inviterId, k -> new ConcurrentHashMap<>())
-                .put(inviteeId, expirationTime);
+            addInvite(inviterId, inviteeId, PeekClock.deadlineAfterSeconds(ModConfigManager.getInviteExpirationSeconds()));
                 
             return PeekConstants.Result.success(Text.translatable("peek.message.invite_created").getString());
             
@@ -52,6 +48,14 @@ public class InviteManager extends BaseManager {
         }
     }
     
+    /**
+     * Records an invite that is active until the given tick of {@link PeekClock}
+     */
+    void addInvite(UUID inviterId, UUID inviteeId, long expirationTick) {
+        activeInvites.computeIfAbsent(inviterId, k -> new ConcurrentHashMap<>())
+            .put(inviteeId, expirationTick);
+    }
+    
     /**
      * Check if there's an active invite from inviter to invitee
      * Synchronized for data safety in low concurrency environment
@@ -63,10 +67,8 @@ public class InviteManager extends BaseManager {
         Long expiration = inviterInvites.get(inviteeId);
         if (expiration == null) return false;
         
-        long currentTime = Instant.now().toEpochMilli();
-        
         // Check if expired and cleanup if needed
-        if (currentTime > expiration) {
+        if (PeekClock.hasReached(expiration)) {
             inviterInvites.remove(inviteeId);
             if (inviterInvites.isEmpty()) {
                 activeInvites.remove(inviterId);
@@ -108,7 +110,7 @@ public class InviteManager extends BaseManager {
      * Clean up expired invites
      */
     public void cleanupExpiredInvites() {
-        long now = Instant.now().toEpochMilli();
+        long now = PeekClock.now();
         
         activeInvites.entrySet().removeIf(entry -> {
             Map<UUID, Long> invites = entry.getValue();
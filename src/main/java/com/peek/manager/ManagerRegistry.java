@@ -33,19 +33,21 @@ public class ManagerRegistry {
      */
     private void initializeManagers() {
         // Create managers without dependencies first
+        TickScheduler tickScheduler = new TickScheduler();
         InviteManager inviteManager = new InviteManager();
         PlayerStateManager playerStateManager = new PlayerStateManager();
         PeekStatisticsManager statisticsManager = new PeekStatisticsManager();
-        PeekRequestManager requestManager = new PeekRequestManager();
+        PeekRequestManager requestManager = new PeekRequestManager(tickScheduler);
         
         // Register basic managers first
+        managers.put(TickScheduler.class, tickScheduler);
         managers.put(InviteManager.class, inviteManager);
         managers.put(PlayerStateManager.class, playerStateManager);
         managers.put(PeekStatisticsManager.class, statisticsManager);
         managers.put(PeekRequestManager.class, requestManager);
         
         // Create managers with dependencies using already registered managers
-        PeekSessionManager sessionManager = new PeekSessionManager(requestManager, playerStateManager);
+        PeekSessionManager sessionManager = new PeekSessionManager(requestManager, playerStateManager, tickScheduler);
         managers.put(PeekSessionManager.class, sessionManager);
     }
     
@@ -1,6 +1,7 @@
 package com.peek.manager;
 
 import com.peek.PeekMod;
+import com.peek.command.suggestion.SuggestionEligibilityCache;
 import com.peek.config.ModConfigManager;
 import com.peek.manager.constants.ErrorCodes;
 import com.peek.manager.constants.GameConstants;
@@ -36,32 +37,33 @@ public class PeekRequestManager extends BaseManager {
     // Performance optimization: index for faster lookups
     private final Map<UUID, UUID> targetToRequestId = new ConcurrentHashMap<>(); // target -> request id
     private final Map<UUID, UUID> requesterToRequestId = new ConcurrentHashMap<>(); // requester -> request id
+    private final Map<PlayerPair, PeekRequest> pendingRequestsByPair = new ConcurrentHashMap<>(); // either direction -> request
     
     // Separated components for better architecture  
     private final NotificationHandler notificationHandler = new NotificationHandler();
     
-    // Unified tick-based task management
-    private final TickTaskManager tickTaskManager = new TickTaskManager();
-    private int cleanupTickCounter = 0;
+    // Request timing runs on the shared scheduler
+    private final TickTaskManager tickTaskManager;
     // server is now inherited from BaseManager
     
-    public PeekRequestManager() {
-        // Cleanup is now handled by tick system - no need for separate scheduler
-    }
-    
     /**
-     * Called every server tick to handle request timing
+     * Two players in a fixed order, so a request is found the same way from either side
      */
-    public void onServerTick() {
-        tickTaskManager.processTick();
-        
-        // Cleanup every 30 seconds
-        if (++cleanupTickCounter >= GameConstants.REQUEST_CLEANUP_INTERVAL_TICKS) {
-            cleanupTickCounter = 0;
-            cleanupExpiredRequests();
+    private record PlayerPair(UUID first, UUID second) {
+        static PlayerPair of(UUID player1Id, UUID player2Id) {
+            return player1Id.compareTo(player2Id) <= 0
+                ? new PlayerPair(player1Id, player2Id)
+                : new PlayerPair(player2Id, player1Id);
         }
     }
     
+    public PeekRequestManager(TickScheduler tickScheduler) {
+        this.tickTaskManager = tickScheduler.getTaskQueue(TickScheduler.SUBSYSTEM_REQUEST);
+        // Cleanup every 30 seconds; expirations themselves are one-shot tasks
+        tickScheduler.scheduleRepeating(TickScheduler.SUBSYSTEM_REQUEST, "cleanup", TickScheduler.Priority.LOW,
+            GameConstants.REQUEST_CLEANUP_INTERVAL_TICKS, this::cleanupExpiredRequests);
+    }
+    
     /**
      * Sends a peek request from requester to target
      */
@@ -128,6 +130,8 @@ public class PeekRequestManager extends BaseManager {
             // Add to indexes for performance
             targetToRequestId.put(targetId, request.getId());
             requesterToRequestId.put(requesterId, request.getId());
+            pendingRequestsByPair.put(PlayerPair.of(requesterId, targetId), request);
+            SuggestionEligibilityCache.getInstance().invalidate();
             
             // Send notifications
             notificationHandler.sendRequestNotification(requester, target, request,
@@ -135,8 +139,8 @@ public class PeekRequestManager extends BaseManager {
             
             // Schedule expiration using tick system
             int timeoutTicks = ModConfigManager.getRequestTimeoutSeconds() * PeekConstants.DEFAULT_STATIC_TICKS; // Convert seconds to ticks
-            tickTaskManager.addTask(request.getId(), RequestConstants.TASK_TYPE_EXPIRE_REQUEST, timeoutTicks, 
-                task -> expireRequest(task.getTaskId()));
+            request.setExpiryTask(tickTaskManager.addTask(request.getId(), RequestConstants.TASK_TYPE_EXPIRE_REQUEST,
+                timeoutTicks, task -> expireRequest(task.getTaskId())));
             
             // Set cooldown
             cooldownManager.setCooldown(requesterId, ModConfigManager.getCooldownSeconds());
@@ -303,8 +307,14 @@ public class PeekRequestManager extends BaseManager {
     // sendRequestNotification method is now handled by NotificationHandler
     
     private void scheduleAutoAccept(UUID requestId, ServerPlayerEntity target, int delaySeconds) {
+        PeekRequest pendingRequest = activeRequests.get(requestId);
+        if (pendingRequest == null) {
+            return;
+        }
+        
         int delayTicks = delaySeconds * PeekConstants.DEFAULT_STATIC_TICKS; // Convert seconds to ticks
-        tickTaskManager.addTask(requestId, RequestConstants.TASK_TYPE_AUTO_ACCEPT, delayTicks, task -> {
+        // The callback looks the target up again so it does not hold on to the player entity
+        pendingRequest.setAutoAcceptTask(tickTaskManager.addTask(requestId, RequestConstants.TASK_TYPE_AUTO_ACCEPT, delayTicks, task -> {
             PeekRequest request = activeRequests.get(requestId);
             if (request != null && request.canAccept()) {
                 MinecraftServer server = getCurrentServer();
@@ -319,14 +329,7 @@ public class PeekRequestManager extends BaseManager {
                     }
                 }
             }
-            // Note: No need to track ScheduledFuture tasks as we use tick-based system
-        });
-        
-        // Auto-accept task is now managed by tick system
-    }
-    
-    private void cancelAutoAccept(UUID requestId) {
-        tickTaskManager.removeTasksWithId(requestId);
+        }));
     }
     
     
@@ -348,12 +351,14 @@ public class PeekRequestManager extends BaseManager {
     private void removeRequest(UUID requestId) {
         PeekRequest request = activeRequests.remove(requestId);
         if (request != null) {
-            // Cancel auto-accept task if exists
-            cancelAutoAccept(requestId);
+            // Cancel pending expiry and auto-accept tasks
+            request.cancelScheduledTasks();
             
             // Remove from indexes
             targetToRequestId.remove(request.getTargetId());
             requesterToRequestId.remove(request.getRequesterId());
+            removeFromPairIndex(request);
+            SuggestionEligibilityCache.getInstance().invalidate();
             
             // Decrease request count for requester
             UUID requesterId = request.getRequesterId();
@@ -434,22 +439,15 @@ public class PeekRequestManager extends BaseManager {
      * Checks if there's a pending request between two players (in either direction)
      */
     public boolean hasPendingRequestBetween(UUID player1Id, UUID player2Id) {
-        return activeRequests.values().stream()
-            .anyMatch(request -> request.getStatus() == PeekRequest.RequestStatus.PENDING && 
-                     ((request.getRequesterId().equals(player1Id) && request.getTargetId().equals(player2Id)) ||
-                      (request.getRequesterId().equals(player2Id) && request.getTargetId().equals(player1Id))));
+        return getPendingRequestBetween(player1Id, player2Id) != null;
     }
     
     /**
      * Gets the pending request between two players (in either direction) 
      */
     public PeekRequest getPendingRequestBetween(UUID player1Id, UUID player2Id) {
-        return activeRequests.values().stream()
-            .filter(request -> request.getStatus() == PeekRequest.RequestStatus.PENDING && 
-                     ((request.getRequesterId().equals(player1Id) && request.getTargetId().equals(player2Id)) ||
-                      (request.getRequesterId().equals(player2Id) && request.getTargetId().equals(player1Id))))
-            .findFirst()
-            .orElse(null);
+        PeekRequest request = pendingRequestsByPair.get(PlayerPair.of(player1Id, player2Id));
+        return request != null && request.getStatus() == PeekRequest.RequestStatus.PENDING ? request : null;
     }
     
     /**
@@ -458,17 +456,30 @@ public class PeekRequestManager extends BaseManager {
      * @param player2Id Second player UUID
      */
     public void cancelRequestsBetween(UUID player1Id, UUID player2Id) {
-        activeRequests.entrySet().removeIf(entry -> {
-            PeekRequest request = entry.getValue();
-            boolean shouldCancel = (request.getRequesterId().equals(player1Id) && request.getTargetId().equals(player2Id)) ||
-                                   (request.getRequesterId().equals(player2Id) && request.getTargetId().equals(player1Id));
-            if (shouldCancel && request.getStatus() == PeekRequest.RequestStatus.PENDING) {
-                // Clean up associated data
-                removeRequest(entry.getKey());
-                return true;
-            }
-            return false;
-        });
+        // Requests in both directions can be pending at once; the index then holds one and promotes the other
+        PlayerPair pair = PlayerPair.of(player1Id, player2Id);
+        PeekRequest request;
+        while ((request = getPendingRequestBetween(player1Id, player2Id)) != null) {
+            removeRequest(request.getId());
+            pendingRequestsByPair.remove(pair, request);
+        }
+    }
+
+    /**
+     * Drops a request from the pair index. If the two players also have a pending request in the other
+     * direction, that one takes its place.
+     */
+    private void removeFromPairIndex(PeekRequest request) {
+        PlayerPair pair = PlayerPair.of(request.getRequesterId(), request.getTargetId());
+        if (!pendingRequestsByPair.remove(pair, request)) {
+            return;
+        }
+        UUID reverseId = targetToRequestId.get(request.getRequesterId());
+        PeekRequest reverse = reverseId != null ? activeRequests.get(reverseId) : null;
+        if (reverse != null && reverse.getRequesterId().equals(request.getTargetId())
+                && reverse.getStatus() == PeekRequest.RequestStatus.PENDING) {
+            pendingRequestsByPair.putIfAbsent(pair, reverse);
+        }
     }
 
     /**
@@ -516,6 +527,7 @@ public class PeekRequestManager extends BaseManager {
         playerRequestCounts.clear();
         targetToRequestId.clear();
         requesterToRequestId.clear();
+        pendingRequestsByPair.clear();
         
         super.shutdown();
     }
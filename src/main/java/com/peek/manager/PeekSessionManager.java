@@ -1,6 +1,7 @@
 package com.peek.manager;
 
 import com.peek.PeekMod;
+import com.peek.command.suggestion.SuggestionEligibilityCache;
 import com.peek.config.ModConfigManager;
 import com.peek.data.PeekDataStorage;
 import com.peek.data.peek.PeekSession;
@@ -20,7 +21,6 @@ import com.peek.utils.permissions.Permissions;
 import eu.pb4.playerdata.api.PlayerDataApi;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.math.Vec3d;
@@ -40,7 +40,7 @@ public class PeekSessionManager extends BaseManager {
     private final Map<UUID, Set<UUID>> targetToSession = new ConcurrentHashMap<>();   // target -> session ids
     
     // Anti-ping-pong mechanism: track recent circular peek swaps
-    private final Map<String, Long> recentCircularPeeks = new ConcurrentHashMap<>(); // "playerA-playerB" -> timestamp
+    private final Map<String, Long> recentCircularPeeks = new ConcurrentHashMap<>(); // "playerA-playerB" -> PeekClock tick
     // server is now inherited from BaseManager
 
     // Injected dependencies
@@ -48,22 +48,54 @@ public class PeekSessionManager extends BaseManager {
     private final PlayerStateManager playerStateManager;
 
     // Separated components for better architecture
-    private final TeleportationManager teleportationManager = new TeleportationManager();
-    private final SessionUpdateHandler sessionUpdateHandler = new SessionUpdateHandler(teleportationManager);
+    private final TeleportationManager teleportationManager;
+    private final SessionUpdateHandler sessionUpdateHandler;
+    // Shared by every session check instead of allocating a callback per check
+    private final SessionUpdateHandler.SessionEndCallback endSessionCallback = (peekerId, voluntary) -> {
+        PeekConstants.Result<String> result = stopPeekSession(peekerId, voluntary, getCurrentServer());
+        if (!result.isSuccess()) {
+            PeekMod.LOGGER.warn("Failed to stop session during update: {}", result.getError());
+        }
+    };
     
-    // Unified tick task management and counters
-    private final TickTaskManager tickTaskManager = new TickTaskManager();
-    private int tickCounter = 0;
-    private int cleanupTickCounter = 0;
+    // Session timing runs on the shared scheduler
+    private final TickTaskManager tickTaskManager;
     
     
     // Task type constants
     private static final String TASK_TYPE_SESSION_TIMEOUT = "session_timeout";
+    private static final String TASK_TYPE_SESSION_CHECK = "session_check";
     
-    public PeekSessionManager(PeekRequestManager requestManager, PlayerStateManager playerStateManager) {
+    public PeekSessionManager(PeekRequestManager requestManager, PlayerStateManager playerStateManager,
+                              TickScheduler tickScheduler) {
         this.requestManager = requestManager;
         this.playerStateManager = playerStateManager;
-        // Cleanup is now handled by tick system - no need for separate scheduler
+        this.tickTaskManager = tickScheduler.getTaskQueue(TickScheduler.SUBSYSTEM_SESSION);
+        this.teleportationManager = new TeleportationManager(
+            tickScheduler.getTaskQueue(TickScheduler.SUBSYSTEM_TELEPORT), this::executeDelayedTeleport);
+        this.sessionUpdateHandler = new SessionUpdateHandler(teleportationManager);
+        registerScheduledJobs(tickScheduler);
+    }
+    
+    /**
+     * Registers the periodic session work with the shared scheduler
+     */
+    private void registerScheduledJobs(TickScheduler tickScheduler) {
+        // Delayed teleports run from the teleport task queue, ahead of all jobs
+        // Movement and dimension changes re-check sessions as they happen, see onPlayerMoved
+        tickScheduler.scheduleRepeating(TickScheduler.SUBSYSTEM_SESSION, "particles",
+            TickScheduler.Priority.NORMAL, 1, this::processParticleEffects);
+        
+        // Session checks are scheduled per session, see scheduleSessionCheck
+        
+        // Cleanup and consistency check every performance.cleanupIntervalSeconds, spread over ticks; deferred while the tick is over budget
+        tickScheduler.scheduleSliced(TickScheduler.SUBSYSTEM_SESSION, "cleanup",
+            TickScheduler.Priority.LOW, () -> (int) Math.min(Integer.MAX_VALUE,
+                PeekClock.secondsToTicks(ModConfigManager.getCleanupIntervalSeconds())),
+            TickScheduler.SlicedWork.sequence(
+                TickScheduler.SlicedWork.forEach(activeSessions::values, this::cleanupIfInactive),
+                TickScheduler.SlicedWork.of(this::cleanupExpiredCircularPeekRecords),
+                StateConsistencyChecker.incrementalCheck(this::getCurrentServer)));
     }
     
     /**
@@ -285,6 +317,7 @@ public class PeekSessionManager extends BaseManager {
         peekerToSession.put(context.getPeekerId(), session.getId());
         targetToSession.computeIfAbsent(context.getTargetId(), 
             k -> ConcurrentHashMap.newKeySet()).add(session.getId());
+        SuggestionEligibilityCache.getInstance().invalidate();
         
         // Save state for crash recovery
         PlayerPeekData peekerData = PlayerDataApi.getCustomDataFor(context.getPeeker(), 
@@ -321,9 +354,7 @@ public class PeekSessionManager extends BaseManager {
 
             // Update session with initial target position
             Vec3d targetPos = ServerPlayerCompat.getPos(target);
-            session.updateTargetPosition(targetPos, UUID.nameUUIDFromBytes(
-                ServerPlayerCompat.getWorld(target).getRegistryKey().getValue().toString().getBytes()
-            ));
+            session.updateTargetPosition(targetPos, WorldIds.getId(ServerPlayerCompat.getWorld(target)));
 
             PeekMod.LOGGER.debug("Session initialized successfully for {} peeking {}",
                 ProfileCompat.getName(peeker.getGameProfile()), ProfileCompat.getName(target.getGameProfile()));
@@ -347,8 +378,9 @@ public class PeekSessionManager extends BaseManager {
         // Send notifications
         SessionUtils.sendSessionStartNotifications(peeker, target, context.getExistingOriginalState() != null);
         
-        // Schedule auto-stop if needed
+        // Schedule auto-stop if needed, and the first check at the session's phase
         scheduleSessionTimeout(peeker, session);
+        scheduleSessionCheck(session, getCheckPhase(session));
         
         // Update command trees and effects
         com.peek.utils.CommandUtils.updateCommandTree(peeker);
@@ -368,8 +400,10 @@ public class PeekSessionManager extends BaseManager {
             int timeoutTicks = (int) (maxDuration * PeekConstants.DEFAULT_STATIC_TICKS);
             PeekMod.LOGGER.debug("Scheduled session timeout for {} after {} ticks ({} seconds)",
                 ProfileCompat.getName(peeker.getGameProfile()), timeoutTicks, maxDuration);
-            tickTaskManager.addTask(session.getId(), TASK_TYPE_SESSION_TIMEOUT, timeoutTicks,
-                task -> stopPeekSession(peeker.getUuid(), false, getCurrentServer()));
+            // Capture the id only; the handle on the session cancels this when the session ends
+            UUID peekerId = peeker.getUuid();
+            session.setTimeoutTask(tickTaskManager.addTask(session.getId(), TASK_TYPE_SESSION_TIMEOUT, timeoutTicks,
+                task -> stopPeekSession(peekerId, false, getCurrentServer())));
         }
     }
     
@@ -409,6 +443,9 @@ public class PeekSessionManager extends BaseManager {
             // Remove mappings
             activeSessions.remove(sessionId);
             peekerToSession.remove(peekerId);
+            SuggestionEligibilityCache.getInstance().invalidate();
+            session.cancelScheduledTasks();
+            teleportationManager.cancelDelayedTeleport(sessionId);
             Set<UUID> targetSessions = targetToSession.get(session.getTargetId());
             if (targetSessions != null) {
                 targetSessions.remove(sessionId);
@@ -489,7 +526,7 @@ public class PeekSessionManager extends BaseManager {
             long duration = session.getDurationSeconds();
             if (server != null) {
                 ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class).recordPeekSession(
-                    server,
+                    server, session.getId(),
                     session.getPeekerId(), session.getPeekerName(),
                     session.getTargetId(), session.getTargetName(),
                     duration, session.hasCrossedDimension()
@@ -511,143 +548,189 @@ public class PeekSessionManager extends BaseManager {
     }
     
     /**
-     * Called every server tick to handle peek session updates and delayed teleportation
+     * Process particle effects for all active sessions
      */
-    public void onServerTick() {
-        // Always process delayed teleportation tasks every tick
-        processDelayedTeleports();
-        
-        // Process unified tick tasks (session timeouts, etc.)
-        tickTaskManager.processTick();
-        
-        // Process particle effects for active sessions every tick
-        processParticleEffects();
-        
-        // Armor stand updates now handled in per-player tick for better performance
+    private void processParticleEffects() {
+        MinecraftServer server = getCurrentServer();
+        if (server == null) {
+            return;
+        }
         
-        // Update sessions every 20 ticks (1 second) or according to configuration
-        int updateInterval = Math.max(1, (int) PeekConstants.SESSION_UPDATE_INTERVAL_TICKS);
-        if (++tickCounter >= updateInterval) {
-            tickCounter = 0;
-            updateSessions();
+        try {
+            ParticleEffectManager.processParticleEffects(server);
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Error processing particle effects", e);
+        }
+    }
+    
+    /**
+     * Ticks until a session's first check. Hashing the id spreads sessions evenly over the update interval,
+     * so checks started together do not all land on the same tick.
+     */
+    private static int getCheckPhase(PeekSession session) {
+        int interval = SessionUpdateHandler.getBaseCheckInterval();
+        return 1 + Math.floorMod(session.getId().hashCode(), interval);
+    }
+    
+    /**
+     * Schedules the session's next distance and state check
+     */
+    private void scheduleSessionCheck(PeekSession session, int delayTicks) {
+        UUID sessionId = session.getId();
+        session.setCheckTask(tickTaskManager.addTask(sessionId, TASK_TYPE_SESSION_CHECK, delayTicks,
+            task -> runSessionCheck(sessionId)));
+    }
+    
+    /**
+     * Checks one session, then schedules its next check after an interval adapted to how fast the players
+     * move and how close they are to a distance limit
+     */
+    private void runSessionCheck(UUID sessionId) {
+        PeekSession session = activeSessions.get(sessionId);
+        if (session == null || !session.isActive()) {
+            return;
         }
         
-        // Cleanup every 60 seconds
-        if (++cleanupTickCounter >= GameConstants.SESSION_CLEANUP_INTERVAL_TICKS) {
-            cleanupTickCounter = 0;
-            cleanupInactiveSessions();
-            cleanupExpiredCircularPeekRecords();
-            
-            // Perform state consistency check every cleanup cycle
-            MinecraftServer server = getCurrentServer();
-            if (server != null) {
-                com.peek.utils.StateConsistencyChecker.performConsistencyCheck(server);
-            }
+        updateSession(session);
+        
+        if (session.isActive() && activeSessions.get(sessionId) == session) {
+            // With event-driven enforcement the periodic check is only a safety net
+            scheduleSessionCheck(session, sessionUpdateHandler.computeNextCheckInterval(session,
+                ModConfigManager.isEventDrivenEnforcementEnabled()));
         }
     }
     
     /**
-     * Process particle effects for all active sessions
+     * Re-checks the sessions of a player who just moved (called from the movement packet handler), as peeker
+     * or as target. Only the cheap limit test runs per move; the full check runs once a limit is crossed.
      */
-    private void processParticleEffects() {
+    public void onPlayerMoved(ServerPlayerEntity player) {
+        if (activeSessions.isEmpty() || !ModConfigManager.isEventDrivenEnforcementEnabled()) {
+            return;
+        }
         MinecraftServer server = getCurrentServer();
         if (server == null) {
             return;
         }
         
-        try {
-            // Process particles for each world that has players
-            for (ServerWorld world : server.getWorlds()) {
-                ParticleEffectManager.processParticleEffects(world);
+        UUID playerId = player.getUuid();
+        long currentTick = PeekClock.now();
+        UUID peekingSessionId = peekerToSession.get(playerId);
+        if (peekingSessionId != null) {
+            checkAfterMove(peekingSessionId, server, currentTick);
+        }
+        Set<UUID> targetedSessionIds = targetToSession.get(playerId);
+        if (targetedSessionIds != null) {
+            for (UUID sessionId : targetedSessionIds) {
+                checkAfterMove(sessionId, server, currentTick);
             }
-        } catch (Exception e) {
-            PeekMod.LOGGER.error("Error processing particle effects", e);
         }
     }
     
     /**
-     * Updates all active sessions (called at configured interval)
+     * Runs a session's full check once one of its players crossed a limit. Checks are at least
+     * {@link PeekConstants#SESSION_UPDATE_MIN_INTERVAL_TICKS} apart, so a limit the check does not resolve
+     * is not re-checked on every movement packet; a move inside that window brings the next check forward.
      */
-    private void updateSessions() {
-        if (activeSessions.isEmpty()) {
+    private void checkAfterMove(UUID sessionId, MinecraftServer server, long currentTick) {
+        PeekSession session = activeSessions.get(sessionId);
+        if (session == null || !session.isActive() || !sessionUpdateHandler.needsImmediateCheck(session, server, currentTick)) {
             return;
         }
         
-        // Update each active session for distance and state checking
-        for (PeekSession session : activeSessions.values()) {
-            try {
-                sessionUpdateHandler.updateSessionChecks(session, getCurrentServer(),
-                        (peekerId, voluntary) -> {
-                            PeekConstants.Result<String> result = stopPeekSession(peekerId, voluntary, getCurrentServer());
-                            if (!result.isSuccess()) {
-                                PeekMod.LOGGER.warn("Failed to stop session during update: {}", result.getError());
-                            }
-                        });
-            } catch (Exception e) {
-                PeekMod.LOGGER.error("Error updating peek session {}", session.getId(), e);
-            }
+        long sinceLastCheck = currentTick - session.getLastUpdateTick();
+        if (sinceLastCheck >= PeekConstants.SESSION_UPDATE_MIN_INTERVAL_TICKS) {
+            runSessionCheck(sessionId);
+            return;
+        }
+        int delay = (int) (PeekConstants.SESSION_UPDATE_MIN_INTERVAL_TICKS - sinceLastCheck);
+        if (session.getTicksUntilCheck() > delay) {
+            scheduleSessionCheck(session, delay);
+        }
+    }
+    
+    /**
+     * Re-checks the sessions of a player who just changed dimension (called from the world change event)
+     */
+    public void onPlayerChangedWorld(ServerPlayerEntity player) {
+        if (!ModConfigManager.isEventDrivenEnforcementEnabled()) {
+            return;
         }
         
-        // Armor stand positions are now updated every tick in onServerTick()
+        UUID playerId = player.getUuid();
+        UUID peekingSessionId = peekerToSession.get(playerId);
+        if (peekingSessionId != null) {
+            runSessionCheck(peekingSessionId);
+        }
+        Set<UUID> targetedSessionIds = targetToSession.get(playerId);
+        if (targetedSessionIds != null) {
+            for (UUID sessionId : List.copyOf(targetedSessionIds)) {
+                runSessionCheck(sessionId);
+            }
+        }
+    }
+    
+    /**
+     * Runs the distance and state checks for one session
+     */
+    private void updateSession(PeekSession session) {
+        try {
+            sessionUpdateHandler.updateSessionChecks(session, getCurrentServer(), endSessionCallback);
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Error updating peek session {}", session.getId(), e);
+        }
     }
 
     /**
-     * Processes tick-based delayed teleportation tasks
+     * Executes a delayed teleportation task once it is due
      */
-    private void processDelayedTeleports() {
+    private void executeDelayedTeleport(TeleportationManager.DelayedTeleportTask task) {
         MinecraftServer server = getCurrentServer();
         if (server == null) {
             return;
         }
         
-        List<TeleportationManager.DelayedTeleportTask> completedTasks = teleportationManager.processPendingTeleports();
-        
-        // Process completed teleportation tasks
-        for (TeleportationManager.DelayedTeleportTask task : completedTasks) {
-            try {
-                // Re-verify players are still valid before teleporting
-                ServerPlayerEntity peeker = server.getPlayerManager().getPlayer(task.peekerId);
-                ServerPlayerEntity target = server.getPlayerManager().getPlayer(task.targetId);
+        try {
+            // Re-verify players are still valid before teleporting
+            ServerPlayerEntity peeker = server.getPlayerManager().getPlayer(task.peekerId);
+            ServerPlayerEntity target = server.getPlayerManager().getPlayer(task.targetId);
 
-                if (peeker == null || target == null) {
-                    PeekMod.LOGGER.warn("Player became null during delayed teleport, ending session");
-                    stopPeekSession(task.peekerId, false);
-                    continue;
-                }
+            if (peeker == null || target == null) {
+                PeekMod.LOGGER.warn("Player became null during delayed teleport, ending session");
+                stopPeekSession(task.peekerId, false);
+                return;
+            }
 
-                // Check if session is still active
-                PeekSession currentSession = activeSessions.get(task.sessionId);
-                if (currentSession == null || !currentSession.isActive()) {
-                    PeekMod.LOGGER.debug("Session no longer active during delayed teleport");
-                    continue;
-                }
+            // Check if session is still active
+            PeekSession currentSession = activeSessions.get(task.sessionId);
+            if (currentSession == null || !currentSession.isActive()) {
+                PeekMod.LOGGER.debug("Session no longer active during delayed teleport");
+                return;
+            }
 
-                PeekMod.LOGGER.debug("Executing delayed teleport to follow target {} to new dimension", task.targetName);
-                teleportationManager.teleportPeekerToTarget(peeker, target);
+            PeekMod.LOGGER.debug("Executing delayed teleport to follow target {} to new dimension", task.targetName);
+            teleportationManager.teleportPeekerToTarget(peeker, target);
 
-                // Update session's world ID to reflect the successful dimension change
-                UUID newWorldId = UUID.nameUUIDFromBytes(
-                    ServerPlayerCompat.getWorld(target).getRegistryKey().getValue().toString().getBytes()
-                );
-                currentSession.updateTargetPosition(ServerPlayerCompat.getPos(target), newWorldId);
-                
-                PeekMod.LOGGER.debug("Updated session world ID after successful dimension follow");
-                
-                Text message = Text.translatable("peek.message.followed_dimension", task.targetName)
-                    .formatted(Formatting.AQUA);
-                peeker.sendMessage(message, false);
-                
-            } catch (Exception teleportError) {
-                PeekMod.LOGGER.error("Failed to follow target to new dimension during delayed teleport, ending session", teleportError);
-                
-                ServerPlayerEntity errorPeeker = server.getPlayerManager().getPlayer(task.peekerId);
-                if (errorPeeker != null) {
-                    Text message = Text.translatable("peek.message.ended_teleport_failed");
-                    errorPeeker.sendMessage(message, false);
-                }
-                
-                stopPeekSession(task.peekerId, false);
+            // Update session's world ID to reflect the successful dimension change
+            UUID newWorldId = WorldIds.getId(ServerPlayerCompat.getWorld(target));
+            currentSession.updateTargetPosition(ServerPlayerCompat.getPos(target), newWorldId);
+            
+            PeekMod.LOGGER.debug("Updated session world ID after successful dimension follow");
+            
+            Text message = Text.translatable("peek.message.followed_dimension", task.targetName)
+                .formatted(Formatting.AQUA);
+            peeker.sendMessage(message, false);
+            
+        } catch (Exception teleportError) {
+            PeekMod.LOGGER.error("Failed to follow target to new dimension during delayed teleport, ending session", teleportError);
+            
+            ServerPlayerEntity errorPeeker = server.getPlayerManager().getPlayer(task.peekerId);
+            if (errorPeeker != null) {
+                Text message = Text.translatable("peek.message.ended_teleport_failed");
+                errorPeeker.sendMessage(message, false);
             }
+            
+            stopPeekSession(task.peekerId, false);
         }
     }
     
@@ -801,7 +884,7 @@ public class PeekSessionManager extends BaseManager {
             // Record session in statistics
             if (server != null) {
                 ManagerRegistry.getInstance().getManager(PeekStatisticsManager.class).recordPeekSession(
-                    server,
+                    server, session.getId(),
                     session.getPeekerId(), session.getPeekerName(),
                     session.getTargetId(), session.getTargetName(),
                     session.getDurationSeconds(), session.hasCrossedDimension()
@@ -834,30 +917,28 @@ public class PeekSessionManager extends BaseManager {
     }
     
     private void cleanupExpiredCircularPeekRecords() {
-        long currentTime = System.currentTimeMillis();
+        long currentTick = PeekClock.now();
         recentCircularPeeks.entrySet().removeIf(entry -> 
-            (currentTime - entry.getValue()) > GameConstants.CIRCULAR_PEEK_EXPIRY_MILLIS
+            (currentTick - entry.getValue()) > GameConstants.CIRCULAR_PEEK_EXPIRY_TICKS
         );
     }
     
-    private void cleanupInactiveSessions() {
-        activeSessions.entrySet().removeIf(entry -> {
-            PeekSession session = entry.getValue();
-            if (!session.isActive()) {
-                
-                // Clean up mappings
-                peekerToSession.remove(session.getPeekerId());
-                Set<UUID> targetSessions = targetToSession.get(session.getTargetId());
-                if (targetSessions != null) {
-                    targetSessions.remove(session.getId());
-                    if (targetSessions.isEmpty()) {
-                        targetToSession.remove(session.getTargetId());
-                    }
-                }
-                return true;
+    private void cleanupIfInactive(PeekSession session) {
+        if (session.isActive() || !activeSessions.remove(session.getId(), session)) {
+            return;
+        }
+        
+        // Clean up mappings
+        session.cancelScheduledTasks();
+        peekerToSession.remove(session.getPeekerId(), session.getId());
+        SuggestionEligibilityCache.getInstance().invalidate();
+        Set<UUID> targetSessions = targetToSession.get(session.getTargetId());
+        if (targetSessions != null) {
+            targetSessions.remove(session.getId());
+            if (targetSessions.isEmpty()) {
+                targetToSession.remove(session.getTargetId());
             }
-            return false;
-        });
+        }
     }
     
     /**
@@ -873,6 +954,8 @@ public class PeekSessionManager extends BaseManager {
                 peekerToSession.put(peekerId, sessionToRestore.getId());
                 targetToSession.computeIfAbsent(sessionToRestore.getTargetId(), k -> ConcurrentHashMap.newKeySet())
                     .add(sessionToRestore.getId());
+                SuggestionEligibilityCache.getInstance().invalidate();
+                scheduleSessionCheck(sessionToRestore, getCheckPhase(sessionToRestore));
                 
                 // Restore previous spectator mode (don't restore to original state)
                 peeker.changeGameMode(GameMode.SPECTATOR);
@@ -923,8 +1006,13 @@ public class PeekSessionManager extends BaseManager {
             }
             
             // Remove from all mappings atomically
-            activeSessions.remove(sessionId);
+            PeekSession removed = activeSessions.remove(sessionId);
+            if (removed != null) {
+                removed.cancelScheduledTasks();
+            }
             peekerToSession.remove(peekerId);
+            teleportationManager.cancelDelayedTeleport(sessionId);
+            SuggestionEligibilityCache.getInstance().invalidate();
             
             Set<UUID> targetSessions = targetToSession.get(targetId);
             if (targetSessions != null) {
@@ -978,6 +1066,7 @@ public class PeekSessionManager extends BaseManager {
         
         // Clear tick tasks
         tickTaskManager.clear();
+        teleportationManager.clearPendingTeleports();
         
         // Clear all particle effects
         ParticleEffectManager.shutdown();
@@ -1013,6 +1102,8 @@ public class PeekSessionManager extends BaseManager {
                         
                         UUID peekerId = session.getPeekerId();
                         UUID targetId = session.getTargetId();
+                        session.cancelScheduledTasks();
+                        teleportationManager.cancelDelayedTeleport(sessionId);
                         
                         PeekMod.LOGGER.info("Emergency stopping session {} - peeker: {}, target: {}", 
                             sessionId, session.getPeekerName(), session.getTargetName());
@@ -2,63 +2,113 @@ package com.peek.manager;
 
 import com.peek.PeekMod;
 import com.peek.config.ModConfigManager;
+import com.peek.data.GlobalDataManager;
 import com.peek.data.GlobalDataStorage;
+import com.peek.data.PeekHistoryLog;
+import com.peek.data.peek.MutablePeekStatistics;
 import com.peek.data.peek.PeekHistoryEntry;
 import com.peek.data.peek.PeekStatistics;
+import com.peek.data.peek.PersistedPeekStatistics;
+import com.peek.data.peek.PlayerPeekRollups;
 import com.peek.data.peek.PlayerPeekStats;
 import com.peek.manager.constants.SessionConstants;
 import com.peek.manager.constants.PeekConstants;
+import com.peek.utils.collection.BucketRing;
+import com.peek.utils.collection.ExpiringCache;
 import net.minecraft.server.MinecraftServer;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Manages peek statistics and history
+ * Manages peek statistics and history.
+ * Statistics are loaded once when the server starts and then kept in memory as the authoritative copy;
+ * changes mark the statistics dirty in {@link GlobalDataManager}, which snapshots and saves them off the tick thread.
  */
 public class PeekStatisticsManager extends BaseManager {
-    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+    private final ExpiringCache<UUID, PlayerPeekStats> playerStatsCache = new ExpiringCache<>(
+        ModConfigManager.getStatsCacheMaxEntries(), PeekStatisticsManager::cacheTtlNanos);
+    private final ExpiringCache<String, PeekStatistics> globalStatsCache = new ExpiringCache<>(
+        1, PeekStatisticsManager::cacheTtlNanos);
     // server is now inherited from BaseManager
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread t = new Thread(r, SessionConstants.STATS_CLEANUP_THREAD_NAME);
-        t.setDaemon(true); // Daemon thread so it won't prevent JVM shutdown
-        return t;
-    });
+    // History log I/O and retention; statistics saving is handled by GlobalDataManager
+    private ScheduledExecutorService scheduler;
+
+    // In-memory statistics, guarded by this manager's monitor
+    private MutablePeekStatistics statistics = MutablePeekStatistics.createDefault();
+    // Bumped under this manager's monitor whenever the statistics change, so a stale global snapshot is never cached
+    private volatile long statisticsVersion;
+    // Copy handed to storage, only touched by the save thread
+    private final PersistedPeekStatistics persistedStatistics = new PersistedPeekStatistics();
+    // Per-player session history; opened, written and read only on the I/O thread
+    private volatile PeekHistoryLog historyLog;
 
     public PeekStatisticsManager() {
-        startCacheCleanupTask();
+    }
+    
+    /**
+     * Loads statistics from disk, registers them with {@link GlobalDataManager} and opens the history log.
+     * Called once when the server is starting, after {@link GlobalDataManager#start}.
+     */
+    public void start(MinecraftServer server) {
+        GlobalDataManager.register(GlobalDataStorage.PEEK_STATISTICS_ID,
+            GlobalDataStorage.PEEK_STATISTICS_STORAGE, this::snapshotStatistics);
+        PeekStatistics loaded = loadStatistics(server);
+        synchronized (this) {
+            statistics = MutablePeekStatistics.fromSnapshot(loaded);
+            statisticsVersion++;
+        }
+        clearCache();
+        
+        if (scheduler == null || scheduler.isShutdown()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, SessionConstants.STATS_IO_THREAD_NAME);
+                t.setDaemon(true); // Daemon thread so it won't prevent JVM shutdown
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::applyHistoryRetention, 1, 1, TimeUnit.HOURS);
+        }
+        
+        if (ModConfigManager.isHistoryEnabled()) {
+            // Runs before any history append, since the executor is single-threaded
+            scheduler.execute(() -> openHistoryLog(server));
+        }
+        
+        PeekMod.LOGGER.debug("Loaded peek statistics for {} players", loaded.playerStats().size());
     }
     
     /**
      * Records a completed peek session
      */
-    public void recordPeekSession(MinecraftServer server, UUID peekerId, String peekerName, UUID targetId, String targetName, 
+    public void recordPeekSession(MinecraftServer server, UUID sessionId, UUID peekerId, String peekerName, UUID targetId, String targetName, 
                                  long durationSeconds, boolean crossedDimension) {
         try {
             PeekMod.LOGGER.debug("Recording peek session: {} -> {} ({}s, crossed: {})", 
                 peekerName, targetName, durationSeconds, crossedDimension);
             
-            // Synchronize only the critical section
-            PeekStatistics updatedStats;
             synchronized (this) {
-                // Load current statistics
-                PeekStatistics currentStats = loadStatistics(server);
-                
-                // Record the session
-                updatedStats = currentStats.recordPeekSession(peekerId, peekerName, targetId, targetName, durationSeconds);
+                statistics.recordPeekSession(peekerId, peekerName, targetId, targetName, durationSeconds);
+                statisticsVersion++;
             }
+            GlobalDataManager.markDirty(GlobalDataStorage.PEEK_STATISTICS_ID);
             
-            // Save and cache operations outside synchronized block
-            saveStatistics(server, updatedStats);
-            clearCache();
+            // Only the affected entries are stale now
+            playerStatsCache.invalidate(peekerId);
+            playerStatsCache.invalidate(targetId);
+            globalStatsCache.invalidate(SessionConstants.GLOBAL_STATS_CACHE_KEY);
             
-                        
+            appendHistory(
+                peekerId, PeekHistoryEntry.createPeekedOther(sessionId, targetId, targetName, durationSeconds, crossedDimension),
+                targetId, PeekHistoryEntry.createWasPeeked(sessionId, peekerId, peekerName, durationSeconds, crossedDimension));
         } catch (Exception e) {
             PeekMod.LOGGER.error("Error recording peek session", e);
         }
@@ -68,26 +118,11 @@ public class PeekStatisticsManager extends BaseManager {
      * Gets player statistics with caching (server-aware version)
      */
     public PlayerPeekStats getPlayerStats(MinecraftServer server, UUID playerId, String playerName) {
-        String cacheKey = SessionConstants.PLAYER_STATS_CACHE_KEY_PREFIX + playerId.toString();
-        
-        // Check cache first
-        PlayerPeekStats cached = (PlayerPeekStats) cache.get(cacheKey);
-        if (cached != null) {
-            return cached;
-        }
-        
-        // Load from global statistics
-        PeekStatistics globalStats = loadStatistics(server);
-        PlayerPeekStats stats = globalStats.getPlayerStats(playerId, playerName);
-        
-        // Cache the result
-        cache.put(cacheKey, stats);
-        
-        // Schedule cache removal
-        scheduler.schedule(() -> cache.remove(cacheKey), 
-            ModConfigManager.getStatsCacheTtlMinutes(), TimeUnit.MINUTES);
-        
-        return stats;
+        return playerStatsCache.get(playerId, id -> {
+            synchronized (this) {
+                return statistics.getPlayerStats(id, playerName);
+            }
+        });
     }
     
     /**
@@ -98,112 +133,134 @@ public class PeekStatisticsManager extends BaseManager {
     }
     
     /**
-     * Gets global statistics
+     * Gets an immutable snapshot of global statistics, copying every player on a cache miss.
+     * Callers that only need the totals should use {@link #getSummaryStats()}, which reads live counters.
      */
     public PeekStatistics getGlobalStatistics() {
-        String cacheKey = SessionConstants.GLOBAL_STATS_CACHE_KEY;
-        
-        PeekStatistics cached = (PeekStatistics) cache.get(cacheKey);
+        PeekStatistics cached = globalStatsCache.getIfPresent(SessionConstants.GLOBAL_STATS_CACHE_KEY);
         if (cached != null) {
             return cached;
         }
         
-        // Try to get current server for loading data
-        MinecraftServer server = getCurrentServer();
-        PeekStatistics stats = loadStatistics(server);
-        
-        // Cache the result
-        cache.put(cacheKey, stats);
-        
-        // Schedule cache removal
-        scheduler.schedule(() -> cache.remove(cacheKey), 
-            ModConfigManager.getStatsCacheTtlMinutes(), TimeUnit.MINUTES);
-        
-        return stats;
+        // Copied without holding the cache lock, so cache reads and invalidations never wait for it
+        PeekStatistics snapshot;
+        long version;
+        synchronized (this) {
+            snapshot = statistics.snapshot();
+            version = statisticsVersion;
+        }
+        globalStatsCache.put(SessionConstants.GLOBAL_STATS_CACHE_KEY, snapshot);
+        // A session recorded meanwhile may have invalidated the cache before the put
+        if (statisticsVersion != version) {
+            globalStatsCache.invalidate(SessionConstants.GLOBAL_STATS_CACHE_KEY);
+        }
+        return snapshot;
     }
     
     /**
      * Gets top players by peek count with pagination
      */
     public List<Map.Entry<UUID, PlayerPeekStats>> getTopPeekers(int page, int pageSize) {
-        PeekStatistics stats = getGlobalStatistics();
-        List<Map.Entry<UUID, PlayerPeekStats>> sorted = stats.getTopPeekers();
-        return stats.getPage(sorted, page, pageSize);
+        return getSortedPlayers(PeekConstants.SortType.PEEK_COUNT, page, pageSize);
     }
     
     /**
      * Gets most peeked players with pagination
      */
     public List<Map.Entry<UUID, PlayerPeekStats>> getMostPeeked(int page, int pageSize) {
-        PeekStatistics stats = getGlobalStatistics();
-        List<Map.Entry<UUID, PlayerPeekStats>> sorted = stats.getMostPeeked();
-        return stats.getPage(sorted, page, pageSize);
+        return getSortedPlayers(PeekConstants.SortType.PEEKED_COUNT, page, pageSize);
     }
     
     /**
      * Gets top players by duration with pagination
      */
     public List<Map.Entry<UUID, PlayerPeekStats>> getTopByDuration(int page, int pageSize) {
-        PeekStatistics stats = getGlobalStatistics();
-        List<Map.Entry<UUID, PlayerPeekStats>> sorted = stats.getTopByDuration();
-        return stats.getPage(sorted, page, pageSize);
+        return getSortedPlayers(PeekConstants.SortType.TOTAL_DURATION, page, pageSize);
     }
     
     /**
-     * Gets sorted players by specified sort type
+     * Gets sorted players by specified sort type, read from the maintained leaderboard indexes
      */
-    public List<Map.Entry<UUID, PlayerPeekStats>> getSortedPlayers(PeekConstants.SortType sortType, int page, int pageSize) {
-        return switch (sortType) {
-            case PEEK_COUNT -> getTopPeekers(page, pageSize);
-            case PEEKED_COUNT -> getMostPeeked(page, pageSize);
-            case TOTAL_DURATION -> getTopByDuration(page, pageSize);
-            case LAST_ACTIVITY -> getTopPeekers(page, pageSize); // Could implement separate sorting
-            case PLAYER_NAME -> getTopPeekers(page, pageSize); // Could implement name-based sorting
-        };
+    public synchronized List<Map.Entry<UUID, PlayerPeekStats>> getSortedPlayers(PeekConstants.SortType sortType, int page, int pageSize) {
+        return statistics.getPage(sortType, page, pageSize);
     }
     
     /**
      * Gets total pages for pagination
      */
     public int getTotalPages(int pageSize) {
-        return getGlobalStatistics().getTotalPages(pageSize);
+        int playerCount;
+        synchronized (this) {
+            playerCount = statistics.getPlayerCount();
+        }
+        return (int) Math.ceil((double) playerCount / pageSize);
     }
     
     /**
-     * Gets player history entries
+     * Reads one page of a player's history, newest first. Only that page's records are read,
+     * on the I/O thread; the future completes there.
      */
-    public List<PeekHistoryEntry> getPlayerHistory(UUID playerId, String playerName) {
-        PlayerPeekStats stats = getPlayerStats(playerId, playerName);
-        return stats.recentHistory();
+    public CompletableFuture<List<PeekHistoryEntry>> getPlayerHistory(UUID playerId, int page, int pageSize) {
+        ScheduledExecutorService currentScheduler = scheduler;
+        if (currentScheduler == null || currentScheduler.isShutdown()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        
+        return CompletableFuture.supplyAsync(() -> {
+            PeekHistoryLog log = historyLog;
+            if (log == null) {
+                return List.<PeekHistoryEntry>of();
+            }
+            try {
+                return log.read(playerId, page, pageSize);
+            } catch (Exception e) {
+                PeekMod.LOGGER.error("Error reading peek history for {}", playerId, e);
+                return List.<PeekHistoryEntry>of();
+            }
+        }, currentScheduler);
     }
     
     /**
-     * Searches for players by name (partial matching)
+     * Gets the number of history entries stored for a player
      */
-    public List<Map.Entry<UUID, PlayerPeekStats>> searchPlayersByName(String namePattern, int page, int pageSize) {
-        PeekStatistics stats = getGlobalStatistics();
-        String pattern = namePattern.toLowerCase();
-        
-        List<Map.Entry<UUID, PlayerPeekStats>> filtered = stats.playerStats().entrySet().stream()
-            .filter(entry -> entry.getValue().playerName().toLowerCase().contains(pattern))
-            .sorted((a, b) -> a.getValue().playerName().compareToIgnoreCase(b.getValue().playerName()))
-            .toList();
-        
-        return stats.getPage(filtered, page, pageSize);
+    public int getHistoryCount(UUID playerId) {
+        PeekHistoryLog log = historyLog;
+        return log != null ? log.count(playerId) : 0;
+    }
+    
+    /**
+     * Searches for players by name (partial matching), in name order
+     */
+    public synchronized List<Map.Entry<UUID, PlayerPeekStats>> searchPlayersByName(String namePattern, int page, int pageSize) {
+        return statistics.searchByName(namePattern, page, pageSize);
+    }
+    
+    /**
+     * Finds players whose name starts with the given prefix, in name order
+     */
+    public synchronized List<Map.Entry<UUID, PlayerPeekStats>> findPlayersByNamePrefix(String prefix, int page, int pageSize) {
+        return statistics.findByNamePrefix(prefix, page, pageSize);
     }
     
     /**
      * Gets summary statistics for admin overview
      */
     public Map<String, Object> getSummaryStats() {
-        PeekStatistics stats = getGlobalStatistics();
+        long totalSessions;
+        long totalDuration;
+        int totalPlayers;
+        synchronized (this) {
+            totalSessions = statistics.getTotalPeekSessions();
+            totalDuration = statistics.getTotalPeekDuration();
+            totalPlayers = statistics.getPlayerCount();
+        }
         
         Map<String, Object> summary = new ConcurrentHashMap<>();
-        summary.put("totalSessions", stats.totalPeekSessions());
-        summary.put("totalDuration", stats.totalPeekDuration());
-        summary.put("totalPlayers", stats.playerStats().size());
+        summary.put("totalSessions", totalSessions);
+        summary.put("totalDuration", totalDuration);
+        summary.put("totalPlayers", totalPlayers);
         summary.put("averageSessionDuration", 
-            stats.totalPeekSessions() > 0 ? (double) stats.totalPeekDuration() / stats.totalPeekSessions() : 0.0);
+            totalSessions > 0 ? (double) totalDuration / totalSessions : 0.0);
         
         // Get top peeker
         List<Map.Entry<UUID, PlayerPeekStats>> topPeekers = getTopPeekers(0, 1);
@@ -226,10 +283,18 @@ public class PeekStatisticsManager extends BaseManager {
      * Clears cached statistics (for reload)
      */
     public void clearCache() {
-        cache.clear();
+        playerStatsCache.invalidateAll();
+        globalStatsCache.invalidateAll();
         PeekMod.LOGGER.info("Cleared peek statistics cache");
     }
     
+    /**
+     * Gets hit, miss and eviction counters of the per-player statistics cache
+     */
+    public ExpiringCache.Stats getCacheStats() {
+        return playerStatsCache.stats();
+    }
+    
     /**
      * Performs cleanup of old data
      */
@@ -242,12 +307,44 @@ public class PeekStatisticsManager extends BaseManager {
     }
     
     /**
-     * Gets statistics for a specific time period
+     * Gets global statistics for a rolling period ("24h", "7d" or "30d"), summed from pre-aggregated buckets
      */
     public Optional<Map<String, Object>> getStatsForPeriod(String period) {
-        // This would implement time-based filtering
-        // For now, return empty
-        return Optional.empty();
+        return PeekConstants.StatsPeriod.fromKey(period).map(p -> getStatsForPeriod(p));
+    }
+    
+    public Map<String, Object> getStatsForPeriod(PeekConstants.StatsPeriod period) {
+        BucketRing.Totals totals;
+        synchronized (this) {
+            totals = statistics.getTotals(period, Instant.now());
+        }
+        
+        Map<String, Object> result = new ConcurrentHashMap<>();
+        result.put("sessions", totals.count());
+        result.put("duration", totals.amount());
+        result.put("averageSessionDuration", totals.count() > 0 ? (double) totals.amount() / totals.count() : 0.0);
+        return result;
+    }
+    
+    /**
+     * Gets a player's session counts and durations for a rolling period, as peeker and as target
+     */
+    public Map<String, Object> getPlayerStatsForPeriod(UUID playerId, PeekConstants.StatsPeriod period) {
+        PlayerPeekRollups rollups;
+        synchronized (this) {
+            rollups = statistics.getPlayerRollups(playerId);
+        }
+        
+        Instant now = Instant.now();
+        BucketRing.Totals peeks = rollups != null ? rollups.peeks().getTotals(period, now) : BucketRing.Totals.ZERO;
+        BucketRing.Totals peeked = rollups != null ? rollups.peeked().getTotals(period, now) : BucketRing.Totals.ZERO;
+        
+        Map<String, Object> result = new ConcurrentHashMap<>();
+        result.put("peekCount", peeks.count());
+        result.put("peekDuration", peeks.amount());
+        result.put("peekedCount", peeked.count());
+        result.put("peekedDuration", peeked.amount());
+        return result;
     }
     
     /**
@@ -264,34 +361,64 @@ public class PeekStatisticsManager extends BaseManager {
         return export;
     }
     
-    private void startCacheCleanupTask() {
-        // Clean up expired cache entries every 10 minutes
-        scheduler.scheduleAtFixedRate(() -> {
-            // Cache cleanup is handled automatically by scheduled tasks when items are added
-            // This is just a periodic cleanup for any missed entries
-            if (cache.size() > 100) { // If cache grows too large
-                PeekMod.LOGGER.debug("Cache size: {}, considering cleanup", cache.size());
+    private void appendHistory(UUID peekerId, PeekHistoryEntry peekerEntry, UUID targetId, PeekHistoryEntry targetEntry) {
+        ScheduledExecutorService currentScheduler = scheduler;
+        if (!ModConfigManager.isHistoryEnabled() || currentScheduler == null || currentScheduler.isShutdown()) {
+            return;
+        }
+        
+        currentScheduler.execute(() -> {
+            PeekHistoryLog log = historyLog;
+            if (log == null) {
+                return;
+            }
+            try {
+                log.append(peekerId, peekerEntry);
+                log.append(targetId, targetEntry);
+            } catch (Exception e) {
+                PeekMod.LOGGER.error("Error appending peek history", e);
             }
-        }, 10, 10, TimeUnit.MINUTES);
+        });
     }
     
-    public void saveAndShutdown() {
-        // Save any pending statistics updates
+    private void openHistoryLog(MinecraftServer server) {
         try {
-            PeekMod.LOGGER.info("Saving peek statistics...");
-            
-            // Force save current cached statistics
-            MinecraftServer server = getCurrentServer();
-            if (server != null) {
-                PeekStatistics cachedStats = (PeekStatistics) cache.get(SessionConstants.GLOBAL_STATS_CACHE_KEY);
-                if (cachedStats != null) {
-                    saveStatistics(server, cachedStats);
-                }
+            long segmentBytes = ModConfigManager.getHistorySegmentSizeKb() * 1024L;
+            historyLog = PeekHistoryLog.open(server, segmentBytes);
+            applyHistoryRetention();
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Error opening peek history log, history will not be recorded", e);
+        }
+    }
+    
+    private void applyHistoryRetention() {
+        PeekHistoryLog log = historyLog;
+        if (log == null) {
+            return;
+        }
+        
+        long retentionDays = ModConfigManager.getStatisticsHistoryRetentionDays();
+        Instant cutoff = retentionDays > 0 ? Instant.now().minus(Duration.ofDays(retentionDays)) : Instant.EPOCH;
+        try {
+            int deleted = log.applyRetention(cutoff, ModConfigManager.getHistoryMaxSegments());
+            if (deleted > 0) {
+                PeekMod.LOGGER.info("Deleted {} expired peek history segments", deleted);
             }
-            
         } catch (Exception e) {
-            PeekMod.LOGGER.error("Error saving peek statistics", e);
-        } finally {
+            PeekMod.LOGGER.error("Error applying peek history retention", e);
+        }
+    }
+    
+    private static long cacheTtlNanos() {
+        return TimeUnit.MINUTES.toNanos(Math.max(0, ModConfigManager.getStatsCacheTtlMinutes()));
+    }
+    
+    /**
+     * Stops the history I/O thread and closes the history log.
+     * Pending statistics are written afterwards by {@link GlobalDataManager#shutdown}.
+     */
+    public void saveAndShutdown() {
+        if (scheduler != null) {
             scheduler.shutdown();
             try {
                 if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -301,7 +428,13 @@ public class PeekStatisticsManager extends BaseManager {
                 scheduler.shutdownNow();
                 Thread.currentThread().interrupt();
             }
-            cache.clear();
+        }
+        
+        clearCache();
+        PeekHistoryLog log = historyLog;
+        historyLog = null;
+        if (log != null) {
+            log.close();
         }
     }
     
@@ -314,7 +447,7 @@ public class PeekStatisticsManager extends BaseManager {
         }
         
         try {
-            PeekStatistics stats = GlobalDataStorage.PEEK_STATISTICS_STORAGE.load(server);
+            PeekStatistics stats = GlobalDataManager.getData(server, GlobalDataStorage.PEEK_STATISTICS_ID);
             return stats != null ? stats : PeekStatistics.createDefault();
         } catch (Exception e) {
             PeekMod.LOGGER.error("Error loading peek statistics, using defaults", e);
@@ -322,17 +455,27 @@ public class PeekStatisticsManager extends BaseManager {
         }
     }
     
-    private void saveStatistics(MinecraftServer server, PeekStatistics statistics) {
-        if (server == null) {
-            PeekMod.LOGGER.warn("No server available, cannot save statistics");
-            return;
+    /**
+     * Snapshot source for {@link GlobalDataManager}; called on its I/O thread, one save at a time.
+     * Only the players changed since the last save are copied while the statistics are locked.
+     */
+    private PeekStatistics snapshotStatistics() {
+        MutablePeekStatistics.Changes changes;
+        synchronized (this) {
+            changes = statistics.drainChanges();
         }
         
-        try {
-            GlobalDataStorage.PEEK_STATISTICS_STORAGE.save(server, statistics);
-            PeekMod.LOGGER.debug("Successfully saved peek statistics");
-        } catch (Exception e) {
-            PeekMod.LOGGER.error("Error saving peek statistics", e);
+        synchronized (persistedStatistics) {
+            persistedStatistics.apply(changes);
+            Instant now = Instant.now();
+            List<UUID> expired = persistedStatistics.pruneExpiredRollups(now);
+            if (!expired.isEmpty()) {
+                synchronized (this) {
+                    statistics.dropExpiredRollups(expired, now);
+                    statisticsVersion++;
+                }
+            }
+            return persistedStatistics.toStatistics();
         }
     }
     
@@ -0,0 +1,293 @@
+package com.peek.manager;
+
+import com.peek.PeekMod;
+import com.peek.config.ModConfigManager;
+import com.peek.utils.PeekClock;
+import com.peek.utils.TickTaskManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Shared per-tick scheduler for all managers.
+ * <p>
+ * Each subsystem gets its own {@link TickTaskManager} queue for one-shot tasks, and can register repeating
+ * jobs with a {@link Priority}. {@link #onServerTick()} is the only tick entry point: it runs every due
+ * one-shot task, then the due jobs from highest to lowest priority. Once the pass has used up the configured
+ * tick budget, remaining {@link Priority#LOW} jobs are deferred to a later tick, but never by more than one
+ * of their own intervals, so maintenance still runs on a server that is constantly over budget.
+ * <p>
+ * Jobs registered as {@link SlicedWork} are run incrementally: each tick a pass gets a slice of
+ * the configured maintenance time and continues where it left off on the next tick, so a pass over many
+ * sessions does not land on a single tick.
+ */
+public class TickScheduler extends BaseManager {
+    public static final String SUBSYSTEM_GLOBAL = "global";
+    public static final String SUBSYSTEM_SESSION = "session";
+    public static final String SUBSYSTEM_REQUEST = "request";
+    public static final String SUBSYSTEM_TELEPORT = "teleport";
+
+    public enum Priority {
+        /** Runs every time it is due, before anything else */
+        HIGH,
+        /** Runs every time it is due */
+        NORMAL,
+        /** May be deferred while the tick is over budget */
+        LOW
+    }
+
+    /**
+     * Work that can be split into small steps and spread over several ticks
+     */
+    public interface SlicedWork {
+        /**
+         * Starts a new pass, e.g. by taking a snapshot of the items to visit
+         */
+        void beginPass();
+
+        /**
+         * Performs the next step of the current pass
+         * @return true if the pass has more steps
+         */
+        boolean step();
+
+        /**
+         * Single-step work that runs the action once per pass
+         */
+        static SlicedWork of(Runnable action) {
+            return new SlicedWork() {
+                @Override
+                public void beginPass() {}
+
+                @Override
+                public boolean step() {
+                    action.run();
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Visits one item per step, in round-robin over a snapshot taken at the start of each pass
+         */
+        static <T> SlicedWork forEach(Supplier<? extends Collection<T>> items, Consumer<T> visitor) {
+            return new SlicedWork() {
+                private Iterator<T> remaining = List.<T>of().iterator();
+
+                @Override
+                public void beginPass() {
+                    remaining = new ArrayList<T>(items.get()).iterator();
+                }
+
+                @Override
+                public boolean step() {
+                    if (remaining.hasNext()) {
+                        visitor.accept(remaining.next());
+                    }
+                    return remaining.hasNext();
+                }
+            };
+        }
+
+        /**
+         * Runs the given passes one after another as a single pass
+         */
+        static SlicedWork sequence(SlicedWork... parts) {
+            return new SlicedWork() {
+                private int current;
+
+                @Override
+                public void beginPass() {
+                    current = 0;
+                    parts[0].beginPass();
+                }
+
+                @Override
+                public boolean step() {
+                    if (parts[current].step()) {
+                        return true;
+                    }
+                    if (++current < parts.length) {
+                        parts[current].beginPass();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * Snapshot of scheduler activity for diagnostics
+     * @param pendingTasks pending one-shot tasks per subsystem
+     * @param lastPassMicros duration of the most recent tick pass
+     * @param overBudgetTicks passes that exceeded the tick budget
+     * @param deferredRuns low-priority job runs postponed because of the budget
+     */
+    public record Stats(Map<String, Integer> pendingTasks, long lastPassMicros, long overBudgetTicks, long deferredRuns) {}
+
+    private static final class Job {
+        final String subsystem;
+        final String name;
+        final Priority priority;
+        final IntSupplier intervalTicks;
+        final SlicedWork work;
+        long nextRunTick;
+        boolean passActive;
+
+        Job(String subsystem, String name, Priority priority, IntSupplier intervalTicks, SlicedWork work, long nextRunTick) {
+            this.subsystem = subsystem;
+            this.name = name;
+            this.priority = priority;
+            this.intervalTicks = intervalTicks;
+            this.work = work;
+            this.nextRunTick = nextRunTick;
+        }
+
+        int interval() {
+            return Math.max(1, intervalTicks.getAsInt());
+        }
+    }
+
+    private final Map<String, TickTaskManager> taskQueues = new ConcurrentHashMap<>();
+    // Kept sorted by priority; only modified while managers are created or on the server thread
+    private final List<Job> jobs = new ArrayList<>();
+    private long currentTick;
+
+    private volatile long lastPassNanos;
+    private volatile long overBudgetTicks;
+    private volatile long deferredRuns;
+
+    public TickScheduler() {
+        taskQueues.put(SUBSYSTEM_GLOBAL, TickTaskManager.getInstance());
+    }
+
+    /**
+     * Gets the one-shot task queue of a subsystem, creating it on first use
+     */
+    public TickTaskManager getTaskQueue(String subsystem) {
+        return taskQueues.computeIfAbsent(subsystem, key -> new TickTaskManager());
+    }
+
+    /**
+     * Registers a job that runs every {@code intervalTicks} ticks, first after one full interval
+     */
+    public void scheduleRepeating(String subsystem, String name, Priority priority, int intervalTicks, Runnable action) {
+        scheduleSliced(subsystem, name, priority, intervalTicks, SlicedWork.of(action));
+    }
+
+    /**
+     * Registers incremental work that starts a pass every {@code intervalTicks} ticks, first after one full
+     * interval. A pass that is still running when the next one is due finishes first.
+     */
+    public void scheduleSliced(String subsystem, String name, Priority priority, int intervalTicks, SlicedWork work) {
+        scheduleSliced(subsystem, name, priority, () -> intervalTicks, work);
+    }
+
+    /**
+     * Registers incremental work whose interval is read again each time a pass starts, so a config value
+     * can drive it and a reload takes effect after the current interval
+     */
+    public synchronized void scheduleSliced(String subsystem, String name, Priority priority, IntSupplier intervalTicks, SlicedWork work) {
+        Job job = new Job(subsystem, name, priority, intervalTicks, work, 0);
+        job.nextRunTick = currentTick + job.interval();
+        jobs.add(job);
+        // Stable sort keeps registration order within a priority
+        jobs.sort(Comparator.comparing((Job job) -> job.priority));
+    }
+
+    /**
+     * Runs one scheduler pass (call this every server tick)
+     */
+    public synchronized void onServerTick() {
+        long start = System.nanoTime();
+        long budgetNanos = (long) (ModConfigManager.getTickBudgetMillis() * TimeUnit.MILLISECONDS.toNanos(1));
+        long sliceNanos = TimeUnit.MICROSECONDS.toNanos(ModConfigManager.getMaintenanceSliceMicros());
+        currentTick++;
+        PeekClock.advance();
+
+        // One-shot tasks are never deferred; timeouts and expirations must fire on time
+        for (TickTaskManager queue : taskQueues.values()) {
+            queue.processTick();
+        }
+
+        for (Job job : jobs) {
+            // A pass in progress always makes progress, so it cannot be starved
+            if (job.passActive) {
+                runSlice(job, sliceNanos);
+                continue;
+            }
+            if (currentTick < job.nextRunTick) {
+                continue;
+            }
+            if (job.priority == Priority.LOW && budgetNanos > 0 && System.nanoTime() - start > budgetNanos
+                    && currentTick - job.nextRunTick < job.interval()) {
+                deferredRuns++;
+                continue;
+            }
+
+            job.nextRunTick = currentTick + job.interval();
+            try {
+                job.work.beginPass();
+                job.passActive = true;
+            } catch (Exception e) {
+                PeekMod.LOGGER.error("Error starting scheduled job {}/{}", job.subsystem, job.name, e);
+                continue;
+            }
+            runSlice(job, sliceNanos);
+        }
+
+        lastPassNanos = System.nanoTime() - start;
+        if (budgetNanos > 0 && lastPassNanos > budgetNanos) {
+            overBudgetTicks++;
+        }
+    }
+
+    /**
+     * Runs steps of the job's current pass until it completes or its time slice is used up (at least one step)
+     */
+    private static void runSlice(Job job, long sliceNanos) {
+        long sliceStart = System.nanoTime();
+        try {
+            boolean more;
+            do {
+                more = job.work.step();
+            } while (more && System.nanoTime() - sliceStart < sliceNanos);
+            job.passActive = more;
+        } catch (Exception e) {
+            // Abandon the pass; the next one starts on schedule
+            job.passActive = false;
+            PeekMod.LOGGER.error("Error running scheduled job {}/{}", job.subsystem, job.name, e);
+        }
+    }
+
+    /**
+     * Gets current scheduler statistics
+     */
+    public Stats getStats() {
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        taskQueues.forEach((subsystem, queue) -> pending.put(subsystem, queue.getActiveTaskCount()));
+        return new Stats(pending, TimeUnit.NANOSECONDS.toMicros(lastPassNanos), overBudgetTicks, deferredRuns);
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        for (Map.Entry<String, TickTaskManager> entry : taskQueues.entrySet()) {
+            // The global queue outlives the registry
+            if (!SUBSYSTEM_GLOBAL.equals(entry.getKey())) {
+                entry.getValue().clear();
+            }
+        }
+        jobs.clear();
+    }
+}
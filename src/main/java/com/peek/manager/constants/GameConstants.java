@@ -45,11 +45,14 @@ public class GameConstants {
     /** 请求管理器清理间隔(ticks) - 30秒 */
     public static final int REQUEST_CLEANUP_INTERVAL_TICKS = 600;
     
-    /** 会话管理器清理间隔(ticks) - 60秒 */
-    public static final int SESSION_CLEANUP_INTERVAL_TICKS = 1200;
+    /** 循环Peek记录过期时间(ticks) - 1分钟 */
+    public static final long CIRCULAR_PEEK_EXPIRY_TICKS = 1200;
     
-    /** 循环Peek记录过期时间(毫秒) - 1分钟 */
-    public static final long CIRCULAR_PEEK_EXPIRY_MILLIS = 60L * SECONDS_TO_MILLIS;
+    /** 同一对玩家两次循环Peek的最小间隔(ticks) - 10秒，防止来回切换 */
+    public static final long CIRCULAR_PEEK_MIN_INTERVAL_TICKS = 200;
+    
+    /** 新会话跳过距离检查的宽限期(ticks) - 3秒，等待传送完成 */
+    public static final int SESSION_CHECK_GRACE_TICKS = 60;
     
     /** 长时间运行会话阈值(秒) - 1小时 */
     public static final long LONG_RUNNING_SESSION_THRESHOLD_SECONDS = SECONDS_PER_HOUR;
@@ -96,6 +99,12 @@ public class GameConstants {
     
     /** 粒子向上速度偏差 */
     public static final double PARTICLE_UPWARD_VELOCITY_BIAS = 0.5;
+    
+    /** 客户端渲染普通粒子的最大距离(方块)，超出此距离发送粒子包没有意义 */
+    public static final double PARTICLE_CLIENT_RENDER_DISTANCE = 32.0;
+    
+    /** 重新检查观察者粒子配置权限的间隔(tick)，权限变更最迟在此时间后生效 */
+    public static final int PARTICLE_PROFILE_RECHECK_TICKS = 100;
 
     private GameConstants() {
         throw new UnsupportedOperationException("Constants class should not be instantiated");
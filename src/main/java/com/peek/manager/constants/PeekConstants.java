@@ -1,5 +1,7 @@
 package com.peek.manager.constants;
 
+import java.util.Optional;
+
 /**
  * Core constants for Peek mod operations
  */
@@ -10,7 +12,13 @@ public final class PeekConstants {
 
     // Cleanup intervals
     public static final long CLEANUP_INTERVAL_SECONDS = 60;
-    public static final long SESSION_UPDATE_INTERVAL_TICKS = 20; // 1 second
+    // Minimum ticks between two checks of the same session
+    public static final int SESSION_UPDATE_MIN_INTERVAL_TICKS = 5;
+    // The adaptive per-session check interval ranges from a quarter to twice performance.sessionUpdateIntervalTicks
+    public static final int SESSION_UPDATE_MIN_INTERVAL_DIVISOR = 4;
+    public static final int SESSION_UPDATE_MAX_INTERVAL_MULTIPLIER = 2;
+    // Longest periodic check interval while event-driven enforcement handles movement and dimension changes
+    public static final int SESSION_SAFETY_NET_INTERVAL_TICKS = 100;
 
     // Sorting options for admin commands
     public enum SortType {
@@ -40,6 +48,45 @@ public final class PeekConstants {
         }
     }
     
+    // Rolling windows for time-based statistics
+    public enum StatsPeriod {
+        LAST_24_HOURS("24h", false, 24),
+        LAST_7_DAYS("7d", true, 7),
+        LAST_30_DAYS("30d", true, 30);
+        
+        private final String key;
+        private final boolean daily;
+        private final int buckets;
+        
+        StatsPeriod(String key, boolean daily, int buckets) {
+            this.key = key;
+            this.daily = daily;
+            this.buckets = buckets;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        /** Whether the window is summed from daily rather than hourly buckets */
+        public boolean isDaily() {
+            return daily;
+        }
+        
+        public int getBuckets() {
+            return buckets;
+        }
+        
+        public static Optional<StatsPeriod> fromKey(String key) {
+            for (StatsPeriod period : values()) {
+                if (period.key.equalsIgnoreCase(key)) {
+                    return Optional.of(period);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+    
     // Result wrapper for operations
     public static class Result<T> {
         private final T value;
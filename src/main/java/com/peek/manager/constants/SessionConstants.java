@@ -6,10 +6,9 @@ package com.peek.manager.constants;
 public final class SessionConstants {
     
     // Thread names
-    public static final String STATS_CLEANUP_THREAD_NAME = "peek-stats-cache-cleanup";
+    public static final String STATS_IO_THREAD_NAME = "peek-stats-io";
     
     // Cache keys
-    public static final String PLAYER_STATS_CACHE_KEY_PREFIX = "player_stats_";
     public static final String GLOBAL_STATS_CACHE_KEY = "global_stats";
     
     private SessionConstants() {
@@ -2,6 +2,7 @@ package com.peek.manager.session;
 
 import com.peek.data.peek.PeekSession;
 import com.peek.data.peek.PlayerState;
+import com.peek.utils.WorldIds;
 import com.peek.utils.compat.ServerPlayerCompat;
 import net.minecraft.server.network.ServerPlayerEntity;
 
@@ -84,9 +85,7 @@ public class SessionCreationContext {
         if (existingOriginalState != null) {
             return existingOriginalState.worldId();
         } else {
-            return UUID.nameUUIDFromBytes(
-                ServerPlayerCompat.getWorld(peeker).getRegistryKey().getValue().toString().getBytes()
-            );
+            return WorldIds.getId(ServerPlayerCompat.getWorld(peeker));
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.peek.manager.session;
 
 import com.peek.PeekMod;
+import com.peek.config.ModConfig;
 import com.peek.config.ModConfigManager;
 import com.peek.data.peek.PeekSession;
+import com.peek.manager.constants.GameConstants;
+import com.peek.manager.constants.PeekConstants;
 import com.peek.utils.MessageBuilder;
+import com.peek.utils.PeekClock;
+import com.peek.utils.WorldIds;
 import com.peek.utils.compat.ServerPlayerCompat;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -17,8 +22,20 @@ import java.util.UUID;
  */
 public class SessionUpdateHandler {
     
+    // Movement speed assumed for idle players when sizing the check interval, in blocks per tick (about a sprint)
+    private static final double MIN_ASSUMED_SPEED = 0.2;
+    // Check again before half of the remaining headroom could be used up
+    private static final double HEADROOM_SAFETY_FACTOR = 2.0;
+    
     private final TeleportationManager teleportationManager;
     
+    // Distance limits squared once per config instance, so checks compare squared distances without sqrt
+    private ModConfig limitsSource;
+    private double maxDistance;
+    private double maxDistanceSq;
+    private double maxMoveDistance;
+    private double maxMoveDistanceSq;
+    
     public SessionUpdateHandler(TeleportationManager teleportationManager) {
         this.teleportationManager = teleportationManager;
     }
@@ -37,9 +54,9 @@ public class SessionUpdateHandler {
             }
             
             // Skip checks for recently created sessions to allow teleportation to complete
-            long sessionAgeSeconds = java.time.Duration.between(session.getStartTime(), java.time.Instant.now()).getSeconds();
-            if (sessionAgeSeconds < 3) { // Skip checks for first 3 seconds
-                PeekMod.LOGGER.debug("Skipping checks for recent session {} (age: {}s)", session.getPeekerName(), sessionAgeSeconds);
+            long currentTick = PeekClock.now();
+            if (isInGracePeriod(session, currentTick)) {
+                PeekMod.LOGGER.debug("Skipping checks for recent session {}", session.getPeekerName());
                 return true; 
             }
             
@@ -57,9 +74,7 @@ public class SessionUpdateHandler {
             // Update positions
             Vec3d targetPos = ServerPlayerCompat.getPos(target);
             Vec3d peekerPos = ServerPlayerCompat.getPos(peeker);
-            UUID targetWorldId = UUID.nameUUIDFromBytes(
-                ServerPlayerCompat.getWorld(target).getRegistryKey().getValue().toString().getBytes()
-            );
+            UUID targetWorldId = WorldIds.getId(ServerPlayerCompat.getWorld(target));
             UUID currentTargetWorldId = session.getCurrentWorldId();
             
             // Check if target has changed dimensions
@@ -71,15 +86,14 @@ public class SessionUpdateHandler {
             }
             
             // Only update world ID if no dimension change occurred
-            session.updateTargetPosition(targetPos, targetWorldId);
-            session.updatePeekerPosition(peekerPos);
+            session.updatePositions(targetPos, targetWorldId, peekerPos, currentTick);
             
             // Only check distance if players are in the same dimension
             if (ServerPlayerCompat.getWorld(peeker) != ServerPlayerCompat.getWorld(target)) {
                 return true; // Different dimensions, skip distance checks
             }
             
-            return performDistanceChecks(session, peeker, target, targetPos, peekerPos, sessionEndCallback);
+            return performDistanceChecks(session, peeker, target, targetPos, targetWorldId, sessionEndCallback);
             
         } catch (Exception e) {
             PeekMod.LOGGER.error("Error in updateSessionChecks", e);
@@ -124,55 +138,40 @@ public class SessionUpdateHandler {
      * Performs distance validation checks
      */
     private boolean performDistanceChecks(PeekSession session, ServerPlayerEntity peeker, ServerPlayerEntity target,
-                                        Vec3d targetPos, Vec3d peekerPos, SessionEndCallback sessionEndCallback) {
+                                        Vec3d targetPos, UUID targetWorldId, SessionEndCallback sessionEndCallback) {
+        refreshLimits();
+        // Peeker and target positions were just stored on the session
+        double peekerToTargetSq = session.getSquaredDistanceFromTarget();
+        
         // Check distance limits for peeker movement
-        double maxMoveDistance = ModConfigManager.getMaxPeekMoveDistance();
-        if (maxMoveDistance > 0) {
-            double distanceFromTarget = session.getDistanceFromTarget();
-            
-            PeekMod.LOGGER.debug("Distance check for {}: distanceFromTarget={}, maxMoveDistance={}", 
-                session.getPeekerName(), distanceFromTarget, maxMoveDistance);
-                
-            if (distanceFromTarget > maxMoveDistance) {
+        if (maxMoveDistance > 0 && peekerToTargetSq > maxMoveDistanceSq) {
+            if (PeekMod.LOGGER.isDebugEnabled()) {
                 PeekMod.LOGGER.debug("Peeker {} exceeded move distance limit: {} > {}", 
-                    session.getPeekerName(), distanceFromTarget, maxMoveDistance);
-                    
-                boolean shouldEndSession = teleportationManager.handlePeekerDistanceExceeded(peeker, target, session);
-                if (shouldEndSession) {
-                    sessionEndCallback.endSession(session.getPeekerId(), false);
-                }
-                return true; // Continue processing
+                    session.getPeekerName(), Math.sqrt(peekerToTargetSq), maxMoveDistance);
             }
+                
+            boolean shouldEndSession = teleportationManager.handlePeekerDistanceExceeded(peeker, target, session);
+            if (shouldEndSession) {
+                sessionEndCallback.endSession(session.getPeekerId(), false);
+            }
+            return true; // Continue processing
         }
         
         // Check if target player has moved too far from peeker's original position
         // Skip this check for cross-dimensional scenarios
-        UUID originalWorldId = session.getOriginalWorldId();
-        UUID currentTargetWorldId = UUID.nameUUIDFromBytes(
-            ServerPlayerCompat.getWorld(target).getRegistryKey().getValue().toString().getBytes()
-        );
+        boolean isCrossDimensional = !session.getOriginalWorldId().equals(targetWorldId);
         
-        boolean isCrossDimensional = !originalWorldId.equals(currentTargetWorldId);
-        double maxDistance = ModConfigManager.getMaxDistance();
-        
-        if (maxDistance > 0 && !isCrossDimensional && targetPos.distanceTo(session.getOriginalPeekerState().position()) > maxDistance) {
+        if (maxDistance > 0 && !isCrossDimensional
+                && targetPos.squaredDistanceTo(session.getOriginalPeekerState().position()) > maxDistanceSq) {
             PeekMod.LOGGER.info("Target moved too far from original peek location, ending peek session");
             sessionEndCallback.endSession(session.getPeekerId(), false);
             return true;
-        } else if (isCrossDimensional) {
-            PeekMod.LOGGER.debug("Skipping distance check for cross-dimensional peek session");
         }
         
         // Check if peeker player has moved too far from target (this is the main distance limit)
-        double peekerToTargetDistance = peekerPos.distanceTo(targetPos);
-        double maxPeekerDistance = ModConfigManager.getMaxDistance();
-        
-        PeekMod.LOGGER.debug("Distance check - Peeker to target: {}, Max allowed: {}", 
-            peekerToTargetDistance, maxPeekerDistance);
-        
-        if (maxPeekerDistance > 0 && peekerToTargetDistance > maxPeekerDistance) {
+        if (maxDistance > 0 && peekerToTargetSq > maxDistanceSq) {
             PeekMod.LOGGER.info("Peeker moved too far from target ({}>{} blocks), ending peek session", 
-                peekerToTargetDistance, maxPeekerDistance);
+                Math.sqrt(peekerToTargetSq), maxDistance);
             sessionEndCallback.endSession(session.getPeekerId(), false);
             return true;
         }
@@ -180,6 +179,121 @@ public class SessionUpdateHandler {
         return true;
     }
     
+    /**
+     * Cheap test for whether a session needs its full check right now: a player went offline, the target
+     * changed dimension, or a distance limit is exceeded. Reads positions only and allocates nothing, so it
+     * can run on every movement of either player.
+     */
+    public boolean needsImmediateCheck(PeekSession session, MinecraftServer server, long currentTick) {
+        if (isInGracePeriod(session, currentTick)
+                || teleportationManager.hasPendingTeleport(session.getId())) {
+            return false;
+        }
+        
+        ServerPlayerEntity peeker = server.getPlayerManager().getPlayer(session.getPeekerId());
+        ServerPlayerEntity target = server.getPlayerManager().getPlayer(session.getTargetId());
+        if (peeker == null || target == null) {
+            return true;
+        }
+        
+        UUID targetWorldId = WorldIds.getId(ServerPlayerCompat.getWorld(target));
+        if (!targetWorldId.equals(session.getCurrentWorldId())) {
+            return true;
+        }
+        if (ServerPlayerCompat.getWorld(peeker) != ServerPlayerCompat.getWorld(target)) {
+            return false;
+        }
+        
+        refreshLimits();
+        Vec3d targetPos = ServerPlayerCompat.getPos(target);
+        double peekerToTargetSq = ServerPlayerCompat.getPos(peeker).squaredDistanceTo(targetPos);
+        if (maxMoveDistance > 0 && peekerToTargetSq > maxMoveDistanceSq) {
+            return true;
+        }
+        if (maxDistance > 0) {
+            if (peekerToTargetSq > maxDistanceSq) {
+                return true;
+            }
+            return targetWorldId.equals(session.getOriginalWorldId())
+                && targetPos.squaredDistanceTo(session.getOriginalPeekerState().position()) > maxDistanceSq;
+        }
+        return false;
+    }
+    
+    /**
+     * Whether a session is still in its first {@link GameConstants#SESSION_CHECK_GRACE_TICKS} ticks, during
+     * which checks are skipped so the initial teleport can complete
+     */
+    static boolean isInGracePeriod(PeekSession session, long currentTick) {
+        return currentTick - session.getStartTick() < GameConstants.SESSION_CHECK_GRACE_TICKS;
+    }
+    
+    /**
+     * Gets the configured session check interval (performance.sessionUpdateIntervalTicks), at least one tick
+     */
+    public static int getBaseCheckInterval() {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE / PeekConstants.SESSION_UPDATE_MAX_INTERVAL_MULTIPLIER,
+            ModConfigManager.getSessionUpdateIntervalTicks()));
+    }
+    
+    /**
+     * Picks the ticks until a session's next check from its last two position updates. Fast movement or little
+     * headroom to a distance limit shortens the interval; idle players far from every limit lengthen it.
+     * <p>
+     * With event-driven enforcement movement triggers its own checks, so the periodic check is a safety net
+     * for moves without an event (such as teleports by other mods) and may stretch to
+     * {@link PeekConstants#SESSION_SAFETY_NET_INTERVAL_TICKS}; it still shortens as the players near a limit.
+     */
+    public int computeNextCheckInterval(PeekSession session, boolean eventDriven) {
+        int baseInterval = getBaseCheckInterval();
+        int minInterval = Math.min(baseInterval, Math.max(PeekConstants.SESSION_UPDATE_MIN_INTERVAL_TICKS,
+            baseInterval / PeekConstants.SESSION_UPDATE_MIN_INTERVAL_DIVISOR));
+        int maxInterval = eventDriven
+            ? Math.max(baseInterval, PeekConstants.SESSION_SAFETY_NET_INTERVAL_TICKS)
+            : baseInterval * PeekConstants.SESSION_UPDATE_MAX_INTERVAL_MULTIPLIER;
+        double speed = session.getRecentSpeed();
+        if (speed < 0 || !session.hasTargetPosition() || session.hasCrossedDimension()) {
+            return baseInterval;
+        }
+        
+        // Remaining distance before the nearest limit is crossed
+        refreshLimits();
+        double headroom = Double.MAX_VALUE;
+        double peekerToTarget = session.getDistanceFromTarget();
+        if (maxDistance > 0) {
+            Vec3d origin = session.getOriginalPeekerState().position();
+            double dx = session.getTargetX() - origin.x;
+            double dy = session.getTargetY() - origin.y;
+            double dz = session.getTargetZ() - origin.z;
+            headroom = Math.min(headroom, maxDistance - peekerToTarget);
+            headroom = Math.min(headroom, maxDistance - Math.sqrt(dx * dx + dy * dy + dz * dz));
+        }
+        if (maxMoveDistance > 0) {
+            headroom = Math.min(headroom, maxMoveDistance - peekerToTarget);
+        }
+        if (headroom == Double.MAX_VALUE) {
+            return maxInterval;
+        }
+        
+        // Both players moving apart is the fastest any of the distances can grow
+        double ticks = Math.max(0, headroom) / (Math.max(speed, MIN_ASSUMED_SPEED) * HEADROOM_SAFETY_FACTOR);
+        return (int) Math.max(minInterval, Math.min(maxInterval, ticks));
+    }
+    
+    /**
+     * Re-reads the distance limits after a config reload
+     */
+    private void refreshLimits() {
+        ModConfig config = ModConfigManager.getConfig();
+        if (config != limitsSource) {
+            maxDistance = ModConfigManager.getMaxDistance();
+            maxDistanceSq = maxDistance * maxDistance;
+            maxMoveDistance = ModConfigManager.getMaxPeekMoveDistance();
+            maxMoveDistanceSq = maxMoveDistance * maxMoveDistance;
+            limitsSource = config;
+        }
+    }
+    
     /**
      * Callback interface for ending sessions
      */
@@ -7,6 +7,7 @@ import com.peek.manager.exceptions.TeleportationException;
 import com.peek.utils.LoggingHelper;
 import com.peek.utils.MessageBuilder;
 import com.peek.utils.SoundManager;
+import com.peek.utils.TickTaskManager;
 import com.peek.utils.compat.ProfileCompat;
 import com.peek.utils.compat.ServerPlayerCompat;
 import net.minecraft.entity.Entity;
@@ -15,15 +16,19 @@ import net.minecraft.text.Text;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.TeleportTarget;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Handles teleportation logic for peek sessions
  */
 public class TeleportationManager {
     
+    private static final String TASK_TYPE_DELAYED_TELEPORT = "delayed_teleport";
+    
     /**
      * Delayed teleportation task for cross-dimensional following
      */
@@ -32,22 +37,29 @@ public class TeleportationManager {
         public final UUID targetId;
         public final UUID sessionId;
         public final String targetName;
-        public int remainingTicks;
         
-        public DelayedTeleportTask(UUID peekerId, UUID targetId, UUID sessionId, String targetName, int delayTicks) {
+        public DelayedTeleportTask(UUID peekerId, UUID targetId, UUID sessionId, String targetName) {
             this.peekerId = peekerId;
             this.targetId = targetId;
             this.sessionId = sessionId;
             this.targetName = targetName;
-            this.remainingTicks = delayTicks;
-        }
-        
-        public boolean tick() {
-            return --remainingTicks <= 0;
         }
     }
     
-    private final List<DelayedTeleportTask> pendingTeleports = new ArrayList<>();
+    // Pending teleports are timed by the task queue, which only visits tasks on their due tick;
+    // this index holds at most one handle per session for O(1) dedupe and cancellation
+    private final TickTaskManager taskQueue;
+    private final Map<UUID, TickTaskManager.TickTask> pendingTeleports = new ConcurrentHashMap<>();
+    private final Consumer<DelayedTeleportTask> onTeleportDue;
+    
+    /**
+     * @param taskQueue queue that times the delayed teleports
+     * @param onTeleportDue called on the server thread when a delayed teleport is due
+     */
+    public TeleportationManager(TickTaskManager taskQueue, Consumer<DelayedTeleportTask> onTeleportDue) {
+        this.taskQueue = taskQueue;
+        this.onTeleportDue = onTeleportDue;
+    }
     
     /**
      * Teleports spectator peeker to target's exact real-time position for accurate following
@@ -140,61 +152,45 @@ public class TeleportationManager {
     }
     
     /**
-     * Schedules a delayed teleportation task
+     * Schedules a delayed teleportation task, unless one is already pending for the session
      */
     public void scheduleDelayedTeleport(UUID peekerId, UUID targetId, UUID sessionId, String targetName, int delayTicks) {
-        // Check if already scheduled outside of lock for better performance
-        boolean alreadyScheduled;
-        synchronized (pendingTeleports) {
-            alreadyScheduled = pendingTeleports.stream()
-                .anyMatch(task -> task.sessionId.equals(sessionId));
-        }
-        
-        if (alreadyScheduled) {
-            PeekMod.LOGGER.debug("Delayed teleport already scheduled for session {}, skipping", sessionId);
-            return;
-        }
-        
-        DelayedTeleportTask teleportTask = new DelayedTeleportTask(
-            peekerId, targetId, sessionId, targetName, delayTicks
-        );
+        DelayedTeleportTask teleportTask = new DelayedTeleportTask(peekerId, targetId, sessionId, targetName);
         
         synchronized (pendingTeleports) {
-            // Double-check after acquiring lock
-            boolean stillNotScheduled = pendingTeleports.stream()
-                .noneMatch(task -> task.sessionId.equals(sessionId));
-            
-            if (stillNotScheduled) {
-                pendingTeleports.add(teleportTask);
-                PeekMod.LOGGER.debug("Scheduled delayed teleport task for {} ticks (session: {})", delayTicks, sessionId);
-            } else {
-                PeekMod.LOGGER.debug("Teleport task was scheduled by another thread, skipping");
+            // Entries stay until the teleport has run, so one that is executing also counts
+            if (pendingTeleports.containsKey(sessionId)) {
+                PeekMod.LOGGER.debug("Delayed teleport already scheduled for session {}, skipping", sessionId);
+                return;
             }
+            
+            TickTaskManager.TickTask handle = taskQueue.addTask(sessionId, TASK_TYPE_DELAYED_TELEPORT, delayTicks, task -> {
+                try {
+                    onTeleportDue.accept(teleportTask);
+                } finally {
+                    // Only drop our own entry; the session may have been rescheduled after a cancel
+                    pendingTeleports.remove(sessionId, task);
+                }
+            });
+            pendingTeleports.put(sessionId, handle);
+            PeekMod.LOGGER.debug("Scheduled delayed teleport task for {} ticks (session: {})", delayTicks, sessionId);
         }
     }
     
     /**
-     * Processes all pending delayed teleportation tasks
+     * Cancels the pending delayed teleport of a session, if any
+     * @return true if a pending teleport was cancelled
      */
-    public List<DelayedTeleportTask> processPendingTeleports() {
-        List<DelayedTeleportTask> completedTasks = new ArrayList<>();
-        
-        synchronized (pendingTeleports) {
-            if (pendingTeleports.isEmpty()) {
-                return completedTasks;
-            }
-            
-            for (DelayedTeleportTask task : pendingTeleports) {
-                if (task.tick()) {
-                    completedTasks.add(task);
-                }
-            }
-            
-            // Remove completed tasks
-            pendingTeleports.removeAll(completedTasks);
-        }
-        
-        return completedTasks;
+    public boolean cancelDelayedTeleport(UUID sessionId) {
+        TickTaskManager.TickTask handle = pendingTeleports.remove(sessionId);
+        return handle != null && handle.cancel();
+    }
+    
+    /**
+     * Whether a delayed teleport is waiting or running for the session
+     */
+    public boolean hasPendingTeleport(UUID sessionId) {
+        return pendingTeleports.containsKey(sessionId);
     }
     
     /**
@@ -202,7 +198,7 @@ public class TeleportationManager {
      */
     public void clearPendingTeleports() {
         synchronized (pendingTeleports) {
-            pendingTeleports.clear();
+            List.copyOf(pendingTeleports.keySet()).forEach(this::cancelDelayedTeleport);
         }
     }
     
@@ -210,8 +206,6 @@ public class TeleportationManager {
      * Gets the number of pending teleportation tasks
      */
     public int getPendingTeleportsCount() {
-        synchronized (pendingTeleports) {
-            return pendingTeleports.size();
-        }
+        return pendingTeleports.size();
     }
 }
\ No newline at end of file
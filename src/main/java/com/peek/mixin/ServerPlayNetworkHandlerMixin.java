@@ -0,0 +1,43 @@
+package com.peek.mixin;
+
+import com.peek.PeekMod;
+import com.peek.manager.ManagerRegistry;
+import com.peek.manager.PeekSessionManager;
+import net.minecraft.network.packet.c2s.play.PlayerMoveC2SPacket;
+import net.minecraft.network.packet.c2s.play.VehicleMoveC2SPacket;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports player movement to the session manager, so distance limits are enforced as players move instead of
+ * by polling every session. The handlers first run on the network thread and hand themselves over to the
+ * server thread by throwing, so these hooks only run on the server thread.
+ */
+@Mixin(ServerPlayNetworkHandler.class)
+public abstract class ServerPlayNetworkHandlerMixin {
+    @Shadow
+    public ServerPlayerEntity player;
+
+    @Inject(method = "onPlayerMove", at = @At("RETURN"))
+    private void peek$afterPlayerMove(PlayerMoveC2SPacket packet, CallbackInfo ci) {
+        peek$notifyMoved();
+    }
+
+    @Inject(method = "onVehicleMove", at = @At("RETURN"))
+    private void peek$afterVehicleMove(VehicleMoveC2SPacket packet, CallbackInfo ci) {
+        peek$notifyMoved();
+    }
+
+    private void peek$notifyMoved() {
+        try {
+            ManagerRegistry.getInstance().getManager(PeekSessionManager.class).onPlayerMoved(player);
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Error re-checking sessions after movement", e);
+        }
+    }
+}
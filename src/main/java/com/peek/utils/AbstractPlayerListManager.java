@@ -1,6 +1,7 @@
 package com.peek.utils;
 
 import com.mojang.brigadier.context.CommandContext;
+import com.peek.command.suggestion.SuggestionEligibilityCache;
 import com.peek.data.PeekDataStorage;
 import com.peek.data.peek.PlayerPeekData;
 import com.peek.manager.ManagerRegistry;
@@ -92,6 +93,7 @@ public abstract class AbstractPlayerListManager {
             
             data = addWithMutualExclusion(data, target.getUuid());
             PlayerDataApi.setCustomDataFor(player, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE, data);
+            SuggestionEligibilityCache.getInstance().invalidate();
             
             // Handle active sessions and pending requests (important for blacklist)
             if (getListType().equals("blacklist")) {
@@ -135,6 +137,7 @@ public abstract class AbstractPlayerListManager {
             
             data = removeFromList(data, target.getUuid());
             PlayerDataApi.setCustomDataFor(player, PeekDataStorage.PLAYER_PEEK_DATA_STORAGE, data);
+            SuggestionEligibilityCache.getInstance().invalidate();
             player.sendMessage(Text.translatable("peek." + getListType() + ".removed", 
                 target.getDisplayName()), false);
             return 1;
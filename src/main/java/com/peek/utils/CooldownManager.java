@@ -5,7 +5,6 @@ import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.server.network.ServerPlayerEntity;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,10 +15,19 @@ import java.util.concurrent.ConcurrentHashMap;
 public class CooldownManager {
     private static final CooldownManager INSTANCE = new CooldownManager();
     
+    // Cooldown end ticks of PeekClock
     private final Map<UUID, Long> peekCooldowns = new ConcurrentHashMap<>();
     private final Map<UUID, Long> inviteCooldowns = new ConcurrentHashMap<>();
+    // Cooldowns are not applied in development environments
+    private final boolean enabled;
 
-    private CooldownManager() {}
+    private CooldownManager() {
+        this(!FabricLoader.getInstance().isDevelopmentEnvironment());
+    }
+
+    CooldownManager(boolean enabled) {
+        this.enabled = enabled;
+    }
     
     public static CooldownManager getInstance() {
         return INSTANCE;
@@ -63,12 +71,12 @@ public class CooldownManager {
      * Generic cooldown check
      */
     private boolean isOnCooldown(@NotNull UUID playerId, Map<UUID, Long> cooldownMap) {
-        if (FabricLoader.getInstance().isDevelopmentEnvironment()) return false;
+        if (!enabled) return false;
         
         Long cooldownEnd = cooldownMap.get(playerId);
         if (cooldownEnd == null) return false;
 
-        return Instant.now().toEpochMilli() < cooldownEnd;
+        return !PeekClock.hasReached(cooldownEnd);
     }
 
     /**
@@ -89,10 +97,9 @@ public class CooldownManager {
      * Generic cooldown setter
      */
     private void setCooldown(@NotNull UUID playerId, int cooldownSeconds, Map<UUID, Long> cooldownMap) {
-        if (FabricLoader.getInstance().isDevelopmentEnvironment()) return;
+        if (!enabled) return;
 
-        long cooldownEnd = Instant.now().toEpochMilli() + (cooldownSeconds * 1000L);
-        cooldownMap.put(playerId, cooldownEnd);
+        cooldownMap.put(playerId, PeekClock.deadlineAfterSeconds(cooldownSeconds));
     }
 
     /**
@@ -113,13 +120,12 @@ public class CooldownManager {
      * Generic cooldown remaining getter
      */
     private long getRemainingCooldown(@NotNull UUID playerId, Map<UUID, Long> cooldownMap) {
-        if (FabricLoader.getInstance().isDevelopmentEnvironment()) return 0;
+        if (!enabled) return 0;
 
         Long cooldownEnd = cooldownMap.get(playerId);
         if (cooldownEnd == null) return 0;
 
-        long remaining = cooldownEnd - Instant.now().toEpochMilli();
-        return Math.max(0, remaining / 1000); // Convert to seconds
+        return PeekClock.secondsUntil(cooldownEnd);
     }
 
     /**
@@ -148,7 +154,7 @@ public class CooldownManager {
      * Removes expired cooldowns for cleanup
      */
     public void cleanupExpiredCooldowns() {
-        long now = Instant.now().toEpochMilli();
+        long now = PeekClock.now();
         peekCooldowns.entrySet().removeIf(entry -> entry.getValue() <= now);
         inviteCooldowns.entrySet().removeIf(entry -> entry.getValue() <= now);
     }
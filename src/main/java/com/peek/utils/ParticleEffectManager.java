@@ -1,25 +1,28 @@
 package com.peek.utils;
 
 import com.peek.PeekMod;
+import com.peek.config.ModConfig;
 import com.peek.config.ModConfigManager;
 import com.peek.manager.constants.GameConstants;
 import com.peek.utils.compat.ProfileCompat;
 import com.peek.utils.compat.ServerPlayerCompat;
+import com.peek.utils.permissions.PermissionChecker;
+import net.minecraft.network.packet.s2c.play.ParticleS2CPacket;
 import net.minecraft.particle.DustParticleEffect;
-import net.minecraft.particle.ParticleEffect;
-import net.minecraft.particle.ParticleTypes;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.Vec3d;
 import org.joml.Vector3f;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 /**
  * Simple particle effects utility for peek sessions
@@ -27,11 +30,24 @@ import java.util.regex.Pattern;
  */
 public class ParticleEffectManager {
     
-    private static final Random RANDOM = new Random();
+    /**
+     * Profiles compiled from one loaded config
+     * @param source the config they were compiled from; a reload replaces it
+     * @param defaultProfile profile for peekers without any profile permission
+     * @param permissionProfiles permission profiles in match order
+     */
+    private record CompiledProfiles(ModConfig source, ParticleProfile defaultProfile, List<ParticleProfile> permissionProfiles) {}
+    
+    /**
+     * Profile chosen for a peeker
+     * @param recheckTick tick of {@link PeekClock} from which the permissions are checked again
+     */
+    private record ChosenProfile(ParticleProfile profile, long recheckTick) {}
+    
+    private static volatile CompiledProfiles compiledProfiles;
     
-    // 颜色验证的正则表达式模式
-    private static final String HEX_COLOR_PATTERN = "^[0-9A-Fa-f]{6}$";
-    private static final Pattern HEX_PATTERN = Pattern.compile(HEX_COLOR_PATTERN);
+    // Profile chosen for each peeker; cleared whenever the profiles are recompiled
+    private static final ConcurrentHashMap<UUID, ChosenProfile> peekerProfiles = new ConcurrentHashMap<>();
     
     // Simple tracking: just the players that need particle effects and their tick counters
     private static final ConcurrentHashMap<UUID, Integer> playerTickCounters = new ConcurrentHashMap<>();
@@ -43,32 +59,119 @@ public class ParticleEffectManager {
     private static final ConcurrentHashMap<UUID, Set<UUID>> targetToPeekers = new ConcurrentHashMap<>();
     
     /**
-     * Process particle effects for currently tracked peekers
-     * Called from PeekSessionManager.onServerTick()
+     * Process particle effects for currently tracked peekers in a single pass over all worlds.
+     * Called every tick by the session manager's particle job on the shared scheduler
      */
-    public static void processParticleEffects(ServerWorld world) {
+    public static void processParticleEffects(MinecraftServer server) {
         if (!ModConfigManager.isParticleEffectsEnabled()) {
             return;
         }
         
-        int frequencyTicks = Math.max(1, ModConfigManager.getParticleFrequencyTicks());
+        // Particles are cosmetic, so they back off first when the server is under load
+        ParticleLod.update(server);
+        ParticleLod.Level lod = ParticleLod.getLevel();
+        if (lod == ParticleLod.Level.OFF || playerTickCounters.isEmpty()) {
+            return;
+        }
+        
+        int frequencyTicks = lod.scaleFrequency(Math.max(1, ModConfigManager.getParticleFrequencyTicks()));
         
-        // Process particles for each tracked peeker
-        for (UUID peekerId : playerTickCounters.keySet()) {
-            // Update tick counter for this player
-            int tickCount = playerTickCounters.getOrDefault(peekerId, 0) + 1;
-            playerTickCounters.put(peekerId, tickCount);
+        // Each peeker's counter advances exactly once per tick, however many worlds the server has
+        Map<ServerWorld, List<ServerPlayerEntity>> dueByWorld = null;
+        for (Map.Entry<UUID, Integer> entry : playerTickCounters.entrySet()) {
+            int tickCount = entry.getValue() + 1;
+            if (tickCount < frequencyTicks) {
+                entry.setValue(tickCount);
+                continue;
+            }
+            entry.setValue(0); // Reset counter
             
-            // Only spawn particles at configured frequency
-            if (tickCount >= frequencyTicks) {
-                playerTickCounters.put(peekerId, 0); // Reset counter
-                
-                ServerPlayerEntity peeker = world.getServer().getPlayerManager().getPlayer(peekerId);
-                if (peeker != null && peeker.isSpectator()) {
-                    spawnParticleEffectForPlayer(peeker, world);
+            ServerPlayerEntity peeker = server.getPlayerManager().getPlayer(entry.getKey());
+            if (peeker != null && peeker.isSpectator()) {
+                if (dueByWorld == null) {
+                    dueByWorld = new HashMap<>();
                 }
+                dueByWorld.computeIfAbsent(ServerPlayerCompat.getWorld(peeker), world -> new ArrayList<>()).add(peeker);
             }
         }
+        
+        if (dueByWorld == null) {
+            return;
+        }
+        
+        CompiledProfiles profiles = getCompiledProfiles();
+        for (Map.Entry<ServerWorld, List<ServerPlayerEntity>> group : dueByWorld.entrySet()) {
+            spawnBursts(server, group.getKey(), group.getValue(), profiles, lod);
+        }
+    }
+    
+    /**
+     * Compiles the particle profiles of the loaded config right away, so config problems are logged
+     * when the config is (re)loaded rather than on the first burst
+     */
+    public static void reloadProfiles() {
+        getCompiledProfiles();
+    }
+    
+    /**
+     * Gets the profiles of the loaded config, compiling them after the config was loaded or reloaded
+     */
+    private static CompiledProfiles getCompiledProfiles() {
+        ModConfig config = ModConfigManager.getConfig();
+        CompiledProfiles profiles = compiledProfiles;
+        if (profiles == null || profiles.source() != config) {
+            profiles = compileProfiles(config);
+            compiledProfiles = profiles;
+            peekerProfiles.clear();
+        }
+        return profiles;
+    }
+    
+    private static CompiledProfiles compileProfiles(ModConfig config) {
+        ModConfig.ParticleSettings settings = config.particles;
+        if (settings.maxViewDistance > GameConstants.PARTICLE_CLIENT_RENDER_DISTANCE) {
+            PeekMod.LOGGER.warn("Particle maxViewDistance {} is beyond the client particle render distance, using {}",
+                settings.maxViewDistance, GameConstants.PARTICLE_CLIENT_RENDER_DISTANCE);
+        }
+        ParticleProfile defaultProfile = ParticleProfile.compile(null, settings.particleType,
+            settings.particlesPerSpawn, settings.particleSpread, settings.particleVelocity, settings.dustParticleColor);
+        
+        List<ParticleProfile> permissionProfiles = new ArrayList<>();
+        if (settings.permissionProfiles != null) {
+            for (ModConfig.PermissionParticleProfile entry : settings.permissionProfiles) {
+                if (entry == null || entry.permission == null || entry.permission.isBlank()) {
+                    PeekMod.LOGGER.warn("Ignoring particle profile without a permission");
+                    continue;
+                }
+                permissionProfiles.add(ParticleProfile.compile(entry.permission.trim(), entry.particleType,
+                    entry.particlesPerSpawn, entry.particleSpread, entry.particleVelocity, entry.dustParticleColor));
+            }
+        }
+        
+        PeekMod.LOGGER.debug("Compiled particle profiles: default + {} permission profiles", permissionProfiles.size());
+        return new CompiledProfiles(config, defaultProfile, List.copyOf(permissionProfiles));
+    }
+    
+    /**
+     * Gets a peeker's profile. Profile permissions are checked again every
+     * {@link GameConstants#PARTICLE_PROFILE_RECHECK_TICKS} ticks, so permission changes apply without a reload.
+     */
+    private static ParticleProfile getProfile(ServerPlayerEntity peeker, CompiledProfiles profiles) {
+        ChosenProfile chosen = peekerProfiles.get(peeker.getUuid());
+        if (chosen != null && !PeekClock.hasReached(chosen.recheckTick())) {
+            return chosen.profile();
+        }
+        
+        ParticleProfile profile = profiles.defaultProfile();
+        for (ParticleProfile candidate : profiles.permissionProfiles()) {
+            if (PermissionChecker.hasPermission(peeker, candidate.getPermission(), 2)) {
+                profile = candidate;
+                break;
+            }
+        }
+        peekerProfiles.put(peeker.getUuid(),
+            new ChosenProfile(profile, PeekClock.now() + GameConstants.PARTICLE_PROFILE_RECHECK_TICKS));
+        return profile;
     }
     
     /**
@@ -105,6 +208,7 @@ public class ParticleEffectManager {
         // Remove from main mappings
         playerTickCounters.remove(peekerId);
         peekerToTarget.remove(peekerId);
+        peekerProfiles.remove(peekerId);
         
         // Maintain reverse index: remove peeker from target's peeker set
         Set<UUID> peekers = targetToPeekers.get(targetId);
@@ -133,6 +237,7 @@ public class ParticleEffectManager {
             // Direct cleanup if no mapping exists
             playerTickCounters.remove(playerId);
             peekerToTarget.remove(playerId);
+            peekerProfiles.remove(playerId);
         }
         PeekMod.LOGGER.debug("Cleaned up particle data for player {}", playerId);
     }
@@ -144,177 +249,55 @@ public class ParticleEffectManager {
         playerTickCounters.clear();
         peekerToTarget.clear();
         targetToPeekers.clear();
+        peekerProfiles.clear();
         PeekMod.LOGGER.debug("ParticleEffectManager shutdown completed");
     }
     
     /**
-     * Spawn particle effect for a specific player
+     * Spawns one burst around each due peeker of a world. A burst is a single particle packet that the
+     * client expands into all of its particles, built once and sent to every viewer.
      */
-    private static void spawnParticleEffectForPlayer(ServerPlayerEntity peeker, ServerWorld world) {
-        try {
-            UUID peekerId = peeker.getUuid();
-            UUID targetId = peekerToTarget.get(peekerId);
-            
-            if (targetId == null) {
-                return; // No target mapping found
-            }
-            
-            // Get peeker's current position
-            Vec3d peekerPos = ServerPlayerCompat.getPos(peeker);
-            
-            // Create particle effect
-            ParticleEffect particleEffect = createParticleEffect();
-            if (particleEffect == null) {
-                return; // Invalid particle type configured
-            }
-            
-            // Configuration values with constants
-            int particleCount = Math.max(GameConstants.MIN_PARTICLES_PER_SPAWN, 
-                Math.min(GameConstants.MAX_PARTICLES_PER_SPAWN, ModConfigManager.getParticlesPerSpawn()));
-            double spread = Math.max(GameConstants.MIN_PARTICLE_SPREAD, 
-                Math.min(GameConstants.MAX_PARTICLE_SPREAD, ModConfigManager.getParticleSpread()));
-            double velocity = Math.max(GameConstants.MIN_PARTICLE_VELOCITY, 
-                Math.min(GameConstants.MAX_PARTICLE_VELOCITY, ModConfigManager.getParticleVelocity()));
-            
-            // Spawn particles around the peeker with some randomization to avoid blocking view
-            for (int i = 0; i < particleCount; i++) {
-                // Create particles around peeker, but avoid direct line of sight
-                // Spawn particles slightly behind and to the sides to minimize view obstruction
-                double offsetX = (RANDOM.nextDouble() - 0.5) * spread * 2;
-                double offsetY = (RANDOM.nextDouble() - 0.3) * spread; // Bias towards lower positions
-                double offsetZ = (RANDOM.nextDouble() - 0.5) * spread * 2;
-                
-                // Avoid particles directly in front of the player's view
-                if (Math.abs(offsetX) < GameConstants.PARTICLE_VIEW_OBSTRUCTION_X_THRESHOLD && 
-                    offsetZ > GameConstants.PARTICLE_VIEW_OBSTRUCTION_Z_THRESHOLD) {
-                    offsetZ -= GameConstants.PARTICLE_PUSH_BACK_DISTANCE; // Push particles behind the player
-                }
-                
-                Vec3d particlePos = peekerPos.add(offsetX, offsetY, offsetZ);
-                
-                // Randomize particle velocity to create natural movement
-                double velocityX = (RANDOM.nextDouble() - 0.5) * velocity;
-                double velocityY = RANDOM.nextDouble() * velocity * GameConstants.PARTICLE_UPWARD_VELOCITY_BIAS; // Slight upward bias
-                double velocityZ = (RANDOM.nextDouble() - 0.5) * velocity;
+    private static void spawnBursts(MinecraftServer server, ServerWorld world, List<ServerPlayerEntity> peekers,
+                                    CompiledProfiles profiles, ParticleLod.Level lod) {
+        // The client does not render ordinary particles further away, so there is no point sending them
+        double maxViewDistance = ModConfigManager.getParticleMaxViewDistance();
+        double viewDistance = maxViewDistance > 0
+            ? Math.min(maxViewDistance, GameConstants.PARTICLE_CLIENT_RENDER_DISTANCE)
+            : GameConstants.PARTICLE_CLIENT_RENDER_DISTANCE;
+        double viewDistanceSq = viewDistance * viewDistance;
+        boolean onlyVisibleToTarget = ModConfigManager.isParticleOnlyVisibleToTarget();
+        
+        // Index the world's players once, then resolve each burst's viewers from nearby cells only
+        PlayerSpatialIndex viewerIndex = onlyVisibleToTarget ? null : PlayerSpatialIndex.of(world.getPlayers());
+        List<ServerPlayerEntity> viewers = new ArrayList<>();
+        
+        for (ServerPlayerEntity peeker : peekers) {
+            try {
+                ParticleProfile profile = getProfile(peeker, profiles);
+                Vec3d peekerPos = ServerPlayerCompat.getPos(peeker);
+                ParticleS2CPacket packet = com.peek.utils.compat.ParticleCompat.createParticlePacket(profile.getEffect(),
+                    peekerPos.x, peekerPos.y + profile.getCenterOffsetY(), peekerPos.z,
+                    profile.getHorizontalDelta(), profile.getVerticalDelta(), profile.getHorizontalDelta(),
+                    profile.getSpeed(), lod.scaleCount(profile.getCount()));
                 
                 // Determine who should see the particles
-                if (ModConfigManager.isParticleOnlyVisibleToTarget()) {
-                    // Only spawn for the target player
-                    ServerPlayerEntity target = world.getServer().getPlayerManager().getPlayer(targetId);
-                    if (target != null) {
-                        spawnParticleForPlayer(target, particleEffect, particlePos, velocityX, velocityY, velocityZ);
+                if (onlyVisibleToTarget) {
+                    UUID targetId = peekerToTarget.get(peeker.getUuid());
+                    ServerPlayerEntity target = targetId != null ? server.getPlayerManager().getPlayer(targetId) : null;
+                    if (target != null && ServerPlayerCompat.getWorld(target) == world
+                            && ServerPlayerCompat.getPos(target).squaredDistanceTo(peekerPos) <= viewDistanceSq) {
+                        target.networkHandler.sendPacket(packet);
                     }
                 } else {
-                    // Spawn for nearby players within view distance
-                    spawnParticleForNearbyPlayers(world, particleEffect, particlePos, velocityX, velocityY, velocityZ, peekerPos);
-                }
-            }
-            
-            PeekMod.LOGGER.debug("Spawned {} particles around peeker {}", particleCount, ProfileCompat.getName(peeker.getGameProfile()));
-
-        } catch (Exception e) {
-            PeekMod.LOGGER.error("Failed to spawn particle effects for player {}: {}", ProfileCompat.getName(peeker.getGameProfile()), e.getMessage());
-        }
-    }
-    
-    /**
-     * Create the configured particle effect
-     */
-    private static ParticleEffect createParticleEffect() {
-        String particleType = ModConfigManager.getParticleType().toUpperCase();
-        
-        try {
-            switch (particleType) {
-                case "FLAME":
-                    return ParticleTypes.FLAME;
-                case "PORTAL":
-                    return ParticleTypes.PORTAL;
-                case "ENCHANT":
-                    return ParticleTypes.ENCHANT;
-                case "HEART":
-                    return ParticleTypes.HEART;
-                case "NOTE":
-                    return ParticleTypes.NOTE;
-                case "SPARKLE":
-                    return ParticleTypes.END_ROD;
-                case "DUST":
-                    // Parse color from hex string
-                    String colorHex = ModConfigManager.getDustParticleColor();
-                    int colorInt = parseHexColorToInt(colorHex);
-                    return com.peek.utils.compat.ParticleCompat.createDustParticleEffect(colorInt, 1.0f);
-                default:
-                    PeekMod.LOGGER.warn("Unknown particle type '{}', falling back to ENCHANT", particleType);
-                    return ParticleTypes.ENCHANT;
-            }
-        } catch (Exception e) {
-            PeekMod.LOGGER.error("Failed to create particle effect for type '{}': {}", particleType, e.getMessage());
-            return ParticleTypes.ENCHANT; // Fallback
-        }
-    }
-    
-    /**
-     * Parse hex color string to int for DustParticleEffect
-     */
-    private static int parseHexColorToInt(String hexColor) {
-        if (hexColor == null || hexColor.trim().isEmpty()) {
-            PeekMod.LOGGER.warn("Null or empty hex color provided, using default cyan");
-            return GameConstants.DEFAULT_PARTICLE_COLOR;
-        }
-
-        hexColor = hexColor.trim().replace("#", "").toUpperCase();
-
-        if (!HEX_PATTERN.matcher(hexColor).matches()) {
-            PeekMod.LOGGER.warn("Invalid hex color format '{}', must be exactly {} hex digits (0-9, A-F), using default cyan", 
-                hexColor, GameConstants.HEX_COLOR_LENGTH);
-            return GameConstants.DEFAULT_PARTICLE_COLOR;
-        }
-
-        try {
-            int color = Integer.parseInt(hexColor, 16);
-            PeekMod.LOGGER.debug("Successfully parsed hex color '{}' to integer: 0x{}", hexColor, Integer.toHexString(color));
-            return color;
-        } catch (NumberFormatException e) {
-            PeekMod.LOGGER.warn("Failed to parse hex color '{}' to integer: {}, using default cyan", hexColor, e.getMessage());
-            return GameConstants.DEFAULT_PARTICLE_COLOR;
-        }
-    }
-    
-    /**
-     * Spawn particle for a specific player only
-     */
-    private static void spawnParticleForPlayer(ServerPlayerEntity player, ParticleEffect particle, 
-                                             Vec3d pos, double velocityX, double velocityY, double velocityZ) {
-        try {
-            ServerWorld world = com.peek.utils.compat.PlayerCompat.getServerWorld(player);
-            // Use the compatible spawnParticles method
-            com.peek.utils.compat.ParticleCompat.spawnParticles(world, player, particle, pos.x, pos.y, pos.z, 1, velocityX, velocityY, velocityZ, 0);
-        } catch (Exception e) {
-            PeekMod.LOGGER.debug("Failed to spawn particle for player {}: {}", ProfileCompat.getName(player.getGameProfile()), e.getMessage());
-        }
-    }
-    
-    /**
-     * Spawn particles for nearby players within view distance
-     */
-    private static void spawnParticleForNearbyPlayers(ServerWorld world, ParticleEffect particle, 
-                                                    Vec3d pos, double velocityX, double velocityY, double velocityZ, Vec3d centerPos) {
-        try {
-            double maxViewDistance = ModConfigManager.getParticleMaxViewDistance();
-            
-            if (maxViewDistance <= 0) {
-                // No distance limit, spawn for all players in the dimension
-                world.spawnParticles(particle, pos.x, pos.y, pos.z, 1, velocityX, velocityY, velocityZ, 0);
-            } else {
-                // Spawn only for players within view distance
-                for (ServerPlayerEntity player : world.getPlayers()) {
-                    double distance = ServerPlayerCompat.getPos(player).distanceTo(centerPos);
-                    if (distance <= maxViewDistance) {
-                        spawnParticleForPlayer(player, particle, pos, velocityX, velocityY, velocityZ);
+                    viewers.clear();
+                    viewerIndex.collectWithin(peekerPos, viewDistance, viewers);
+                    for (ServerPlayerEntity viewer : viewers) {
+                        viewer.networkHandler.sendPacket(packet);
                     }
                 }
+            } catch (Exception e) {
+                PeekMod.LOGGER.error("Failed to spawn particle effects for player {}: {}", ProfileCompat.getName(peeker.getGameProfile()), e.getMessage());
             }
-        } catch (Exception e) {
-            PeekMod.LOGGER.debug("Failed to spawn particles for nearby players: {}", e.getMessage());
         }
     }
     
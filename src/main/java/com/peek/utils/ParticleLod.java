@@ -0,0 +1,123 @@
+package com.peek.utils;
+
+import com.peek.PeekMod;
+import com.peek.config.ModConfigManager;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Load-aware level of detail for peek particles.
+ * <p>
+ * The level follows the server's average tick time (MSPT). It drops right away to the level whose threshold
+ * the MSPT has reached, and recovers one level at a time once the MSPT is below the current level's
+ * threshold by the configured margin, so it does not flap around a threshold.
+ */
+public final class ParticleLod {
+    /** Ticks between level evaluations */
+    private static final int EVALUATION_INTERVAL_TICKS = 20;
+
+    public enum Level {
+        /** Configured frequency and count */
+        FULL(1, 1),
+        /** Half as often, half the particles */
+        REDUCED(2, 2),
+        /** A quarter as often, one particle per burst */
+        MINIMAL(4, Integer.MAX_VALUE),
+        /** No particles */
+        OFF(0, 0);
+
+        private final int frequencyMultiplier;
+        private final int countDivisor;
+
+        Level(int frequencyMultiplier, int countDivisor) {
+            this.frequencyMultiplier = frequencyMultiplier;
+            this.countDivisor = countDivisor;
+        }
+
+        /**
+         * Scales the configured ticks between bursts
+         */
+        public int scaleFrequency(int frequencyTicks) {
+            return frequencyTicks * frequencyMultiplier;
+        }
+
+        /**
+         * Scales the configured particles per burst, never below one
+         */
+        public int scaleCount(int count) {
+            return Math.max(1, count / countDivisor);
+        }
+    }
+
+    private static volatile Level level = Level.FULL;
+    private static volatile float lastMspt;
+    private static int ticksUntilEvaluation;
+
+    private ParticleLod() {}
+
+    /**
+     * Updates the level from the server's tick times; call once per tick before emitting particles
+     */
+    public static void update(MinecraftServer server) {
+        if (--ticksUntilEvaluation > 0) {
+            return;
+        }
+        ticksUntilEvaluation = EVALUATION_INTERVAL_TICKS;
+
+        if (!ModConfigManager.isParticleLodEnabled()) {
+            level = Level.FULL;
+            return;
+        }
+
+        float mspt = server.getAverageTickTime();
+        lastMspt = mspt;
+        Level current = level;
+        Level next = evaluate(current, mspt);
+        if (next != current) {
+            level = next;
+            PeekMod.LOGGER.debug("Particle LOD changed from {} to {} at {} MSPT", current, next, mspt);
+        }
+    }
+
+    private static Level evaluate(Level current, float mspt) {
+        Level target = Level.FULL;
+        if (mspt >= ModConfigManager.getParticleLodOffMspt()) {
+            target = Level.OFF;
+        } else if (mspt >= ModConfigManager.getParticleLodMinimalMspt()) {
+            target = Level.MINIMAL;
+        } else if (mspt >= ModConfigManager.getParticleLodReducedMspt()) {
+            target = Level.REDUCED;
+        }
+
+        if (target.ordinal() >= current.ordinal()) {
+            return target;
+        }
+        // Ramp back up one level at a time, and only with some headroom below the current threshold
+        if (mspt <= thresholdOf(current) - ModConfigManager.getParticleLodRecoveryMarginMspt()) {
+            return Level.values()[current.ordinal() - 1];
+        }
+        return current;
+    }
+
+    private static double thresholdOf(Level current) {
+        return switch (current) {
+            case FULL -> Double.MAX_VALUE;
+            case REDUCED -> ModConfigManager.getParticleLodReducedMspt();
+            case MINIMAL -> ModConfigManager.getParticleLodMinimalMspt();
+            case OFF -> ModConfigManager.getParticleLodOffMspt();
+        };
+    }
+
+    /**
+     * Gets the current level
+     */
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the MSPT the current level was evaluated at
+     */
+    public static float getLastMspt() {
+        return lastMspt;
+    }
+}
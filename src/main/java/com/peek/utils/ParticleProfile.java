@@ -0,0 +1,124 @@
+package com.peek.utils;
+
+import com.peek.PeekMod;
+import com.peek.manager.constants.GameConstants;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.particle.ParticleTypes;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * Particle settings compiled once from the config: the particle effect is resolved, the dust color parsed
+ * and every value clamped, so emitting a burst only reads fields.
+ */
+public final class ParticleProfile {
+    // 颜色验证的正则表达式模式
+    private static final String HEX_COLOR_PATTERN = "^[0-9A-Fa-f]{6}$";
+    private static final Pattern HEX_PATTERN = Pattern.compile(HEX_COLOR_PATTERN);
+
+    @Nullable
+    private final String permission;
+    private final ParticleEffect effect;
+    private final int count;
+    private final double centerOffsetY;
+    private final float horizontalDelta;
+    private final float verticalDelta;
+    private final float speed;
+
+    private ParticleProfile(@Nullable String permission, ParticleEffect effect, int count, double spread, double velocity) {
+        this.permission = permission;
+        this.effect = effect;
+        this.count = count;
+        // Particles sit around the peeker, centered slightly above the feet
+        this.centerOffsetY = (0.5 - GameConstants.PARTICLE_Y_NEGATIVE_BIAS) * spread;
+        this.horizontalDelta = (float) (spread / 2);
+        this.verticalDelta = (float) (spread / 4);
+        this.speed = (float) velocity;
+    }
+
+    /**
+     * Compiles a profile from raw config values
+     * @param permission permission node that selects this profile, or null for the default profile
+     */
+    public static ParticleProfile compile(@Nullable String permission, String particleType, int particlesPerSpawn,
+                                          double particleSpread, double particleVelocity, String dustParticleColor) {
+        int count = Math.max(GameConstants.MIN_PARTICLES_PER_SPAWN,
+            Math.min(GameConstants.MAX_PARTICLES_PER_SPAWN, particlesPerSpawn));
+        double spread = Math.max(GameConstants.MIN_PARTICLE_SPREAD,
+            Math.min(GameConstants.MAX_PARTICLE_SPREAD, particleSpread));
+        double velocity = Math.max(GameConstants.MIN_PARTICLE_VELOCITY,
+            Math.min(GameConstants.MAX_PARTICLE_VELOCITY, particleVelocity));
+        return new ParticleProfile(permission, createParticleEffect(particleType, dustParticleColor), count, spread, velocity);
+    }
+
+    /**
+     * Create the configured particle effect
+     */
+    private static ParticleEffect createParticleEffect(String type, String dustParticleColor) {
+        String particleType = type == null ? "" : type.toUpperCase();
+
+        try {
+            switch (particleType) {
+                case "FLAME":
+                    return ParticleTypes.FLAME;
+                case "PORTAL":
+                    return ParticleTypes.PORTAL;
+                case "ENCHANT":
+                    return ParticleTypes.ENCHANT;
+                case "HEART":
+                    return ParticleTypes.HEART;
+                case "NOTE":
+                    return ParticleTypes.NOTE;
+                case "SPARKLE":
+                    return ParticleTypes.END_ROD;
+                case "DUST":
+                    // Parse color from hex string
+                    int colorInt = parseHexColorToInt(dustParticleColor);
+                    return com.peek.utils.compat.ParticleCompat.createDustParticleEffect(colorInt, 1.0f);
+                default:
+                    PeekMod.LOGGER.warn("Unknown particle type '{}', falling back to ENCHANT", particleType);
+                    return ParticleTypes.ENCHANT;
+            }
+        } catch (Exception e) {
+            PeekMod.LOGGER.error("Failed to create particle effect for type '{}': {}", particleType, e.getMessage());
+            return ParticleTypes.ENCHANT; // Fallback
+        }
+    }
+
+    /**
+     * Parse hex color string to int for DustParticleEffect
+     */
+    private static int parseHexColorToInt(String hexColor) {
+        if (hexColor == null || hexColor.trim().isEmpty()) {
+            PeekMod.LOGGER.warn("Null or empty hex color provided, using default cyan");
+            return GameConstants.DEFAULT_PARTICLE_COLOR;
+        }
+
+        hexColor = hexColor.trim().replace("#", "").toUpperCase();
+
+        if (!HEX_PATTERN.matcher(hexColor).matches()) {
+            PeekMod.LOGGER.warn("Invalid hex color format '{}', must be exactly {} hex digits (0-9, A-F), using default cyan",
+                hexColor, GameConstants.HEX_COLOR_LENGTH);
+            return GameConstants.DEFAULT_PARTICLE_COLOR;
+        }
+
+        try {
+            int color = Integer.parseInt(hexColor, 16);
+            PeekMod.LOGGER.debug("Successfully parsed hex color '{}' to integer: 0x{}", hexColor, Integer.toHexString(color));
+            return color;
+        } catch (NumberFormatException e) {
+            PeekMod.LOGGER.warn("Failed to parse hex color '{}' to integer: {}, using default cyan", hexColor, e.getMessage());
+            return GameConstants.DEFAULT_PARTICLE_COLOR;
+        }
+    }
+
+    @Nullable
+    public String getPermission() { return permission; }
+    public ParticleEffect getEffect() { return effect; }
+    public int getCount() { return count; }
+    public double getCenterOffsetY() { return centerOffsetY; }
+    public float getHorizontalDelta() { return horizontalDelta; }
+    public float getVerticalDelta() { return verticalDelta; }
+    public float getSpeed() { return speed; }
+}
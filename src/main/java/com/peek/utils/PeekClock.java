@@ -0,0 +1,82 @@
+package com.peek.utils;
+
+import java.time.Instant;
+
+/**
+ * Monotonic game clock driven by the server tick.
+ * <p>
+ * Session, request, invite and cooldown deadlines are stored as ticks of this clock, so checking them is an
+ * integer compare and they follow game time: a lagging server does not expire anything early. The clock
+ * keeps counting across server restarts within the same process and never goes backwards. For display,
+ * {@link #toInstant(long)} converts a tick to wall-clock time, anchored at the most recent tick. Durations that
+ * are persisted, such as session lengths, are measured in wall-clock time instead.
+ */
+public final class PeekClock {
+    public static final int TICKS_PER_SECOND = 20;
+    public static final long MILLIS_PER_TICK = 1000L / TICKS_PER_SECOND;
+
+    private static volatile long tick;
+    private static volatile long tickWallMillis = System.currentTimeMillis();
+
+    private PeekClock() {}
+
+    /**
+     * Gets the current tick
+     */
+    public static long now() {
+        return tick;
+    }
+
+    /**
+     * Advances the clock by one tick; called once per server tick by the scheduler
+     */
+    public static void advance() {
+        tickWallMillis = System.currentTimeMillis();
+        tick++;
+    }
+
+    /**
+     * Sets the clock to a given tick so time can be driven deterministically, e.g. from tests or tools
+     */
+    public static void setTick(long newTick) {
+        tickWallMillis = System.currentTimeMillis();
+        tick = newTick;
+    }
+
+    /**
+     * Converts seconds to ticks
+     */
+    public static long secondsToTicks(long seconds) {
+        return seconds * TICKS_PER_SECOND;
+    }
+
+    /**
+     * Gets the tick that lies the given number of seconds from now
+     */
+    public static long deadlineAfterSeconds(long seconds) {
+        return tick + secondsToTicks(seconds);
+    }
+
+    /**
+     * Whether the given deadline tick has been reached
+     */
+    public static boolean hasReached(long deadlineTick) {
+        return tick >= deadlineTick;
+    }
+
+    /**
+     * Gets the whole seconds left until a deadline, rounded up
+     * @return the remaining seconds, or 0 if the deadline has passed
+     */
+    public static long secondsUntil(long deadlineTick) {
+        long remaining = deadlineTick - tick;
+        return remaining > 0 ? (remaining + TICKS_PER_SECOND - 1) / TICKS_PER_SECOND : 0;
+    }
+
+    /**
+     * Converts a tick to wall-clock time, assuming normal tick speed between it and the most recent tick
+     */
+    public static Instant toInstant(long atTick) {
+        return Instant.ofEpochMilli(tickWallMillis + (atTick - tick) * MILLIS_PER_TICK);
+    }
+}
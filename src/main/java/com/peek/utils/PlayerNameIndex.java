@@ -0,0 +1,68 @@
+package com.peek.utils;
+
+import com.peek.utils.compat.ProfileCompat;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Online players sorted by case-folded name, kept up to date on join and leave, so command suggestions can
+ * find the players whose name starts with the typed text in O(log n + k) instead of scanning the player list.
+ */
+public final class PlayerNameIndex {
+    /**
+     * An indexed player
+     * @param id player UUID
+     * @param name player name as displayed
+     */
+    public record Entry(UUID id, String name) {}
+
+    // Keyed by folded name plus UUID, so players whose names only differ in case (offline mode) both fit
+    private static final ConcurrentSkipListMap<String, Entry> BY_NAME = new ConcurrentSkipListMap<>();
+
+    private PlayerNameIndex() {}
+
+    /**
+     * Adds a player; called when the player joins
+     */
+    public static void add(ServerPlayerEntity player) {
+        String name = ProfileCompat.getName(player.getGameProfile());
+        BY_NAME.put(key(name, player.getUuid()), new Entry(player.getUuid(), name));
+    }
+
+    /**
+     * Removes a player; called when the player leaves
+     */
+    public static void remove(ServerPlayerEntity player) {
+        BY_NAME.remove(key(ProfileCompat.getName(player.getGameProfile()), player.getUuid()));
+    }
+
+    /**
+     * Finds the players whose name starts with the given text, ignoring case, in name order
+     * @return a live view; do not keep it
+     */
+    public static Collection<Entry> findByPrefix(String prefix) {
+        String folded = fold(prefix);
+        NavigableMap<String, Entry> matches = BY_NAME.subMap(folded, true, folded + Character.MAX_VALUE, false);
+        return matches.values();
+    }
+
+    /**
+     * Forgets all players; called when the server has stopped
+     */
+    public static void clear() {
+        BY_NAME.clear();
+    }
+
+    private static String key(String name, UUID id) {
+        return fold(name) + '\u0000' + id;
+    }
+
+    private static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.peek.utils;
+
+import com.peek.utils.compat.ServerPlayerCompat;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Grid of the players of one world, bucketed into cubic cells, for finding the players near a point without
+ * scanning the whole world. It is a snapshot: build it once per tick and query it as often as needed.
+ */
+public final class PlayerSpatialIndex {
+    private static final int CELL_BITS = 5;
+    /** Cell edge length in blocks; a query with a radius up to this size visits 3x3x3 cells */
+    public static final int CELL_SIZE = 1 << CELL_BITS;
+
+    private final Long2ObjectOpenHashMap<List<ServerPlayerEntity>> cells;
+
+    private PlayerSpatialIndex(int expectedCells) {
+        this.cells = new Long2ObjectOpenHashMap<>(expectedCells);
+    }
+
+    /**
+     * Builds an index of the given players
+     */
+    public static PlayerSpatialIndex of(Collection<ServerPlayerEntity> players) {
+        PlayerSpatialIndex index = new PlayerSpatialIndex(players.size());
+        for (ServerPlayerEntity player : players) {
+            Vec3d pos = ServerPlayerCompat.getPos(player);
+            long key = cellKey(cellCoord(pos.x), cellCoord(pos.y), cellCoord(pos.z));
+            List<ServerPlayerEntity> cell = index.cells.get(key);
+            if (cell == null) {
+                cell = new ArrayList<>(2);
+                index.cells.put(key, cell);
+            }
+            cell.add(player);
+        }
+        return index;
+    }
+
+    /**
+     * Adds every indexed player within {@code radius} blocks of a point to {@code out}
+     */
+    public void collectWithin(Vec3d center, double radius, List<ServerPlayerEntity> out) {
+        double radiusSq = radius * radius;
+        int minX = cellCoord(center.x - radius), maxX = cellCoord(center.x + radius);
+        int minY = cellCoord(center.y - radius), maxY = cellCoord(center.y + radius);
+        int minZ = cellCoord(center.z - radius), maxZ = cellCoord(center.z + radius);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    List<ServerPlayerEntity> cell = cells.get(cellKey(x, y, z));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size(); i++) {
+                        ServerPlayerEntity player = cell.get(i);
+                        if (ServerPlayerCompat.getPos(player).squaredDistanceTo(center) <= radiusSq) {
+                            out.add(player);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cellCoord(double blockCoord) {
+        return MathHelper.floor(blockCoord) >> CELL_BITS;
+    }
+
+    /**
+     * Packs cell coordinates into one key: 24 bits each for x and z, 16 bits for y
+     */
+    private static long cellKey(int x, int y, int z) {
+        return ((long) x & 0xFFFFFFL) << 40 | ((long) z & 0xFFFFFFL) << 16 | ((long) y & 0xFFFFL);
+    }
+}
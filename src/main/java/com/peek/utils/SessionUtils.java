@@ -7,6 +7,7 @@ import com.peek.data.peek.PlayerState;
 import com.peek.manager.exceptions.PeekException;
 import com.peek.manager.exceptions.SessionException;
 import com.peek.manager.constants.ErrorCodes;
+import com.peek.manager.constants.GameConstants;
 import com.peek.utils.compat.ProfileCompat;
 import com.peek.utils.compat.ServerPlayerCompat;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -62,18 +63,18 @@ public class SessionUtils {
                 // Check for ping-pong prevention
                 if (isCircularPeek) {
                     String pairKey = createPairKey(peekerId, targetId);
-                    Long lastSwapTime = recentCircularPeeks.get(pairKey);
-                    long currentTime = System.currentTimeMillis();
+                    Long lastSwapTick = recentCircularPeeks.get(pairKey);
+                    long currentTick = PeekClock.now();
                     
                     // Prevent rapid ping-pong (within 10 seconds)
-                    if (lastSwapTime != null && (currentTime - lastSwapTime) < 10000) {
+                    if (lastSwapTick != null && (currentTick - lastSwapTick) < GameConstants.CIRCULAR_PEEK_MIN_INTERVAL_TICKS) {
                         PeekMod.LOGGER.info("Preventing ping-pong peek between {} and {} (too recent)",
                             ProfileCompat.getName(peeker.getGameProfile()), session.getPeekerName());
                         return "Circular peek too frequent, please wait a moment";
                     }
                     
                     // Record this circular peek
-                    recentCircularPeeks.put(pairKey, currentTime);
+                    recentCircularPeeks.put(pairKey, currentTick);
                 }
                 
                 PeekMod.LOGGER.info("Stopping session where {} was peeking {} (circular: {})",
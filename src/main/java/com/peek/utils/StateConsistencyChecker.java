@@ -4,6 +4,7 @@ import com.peek.PeekMod;
 import com.peek.manager.ManagerRegistry;
 import com.peek.manager.PeekRequestManager;
 import com.peek.manager.PeekSessionManager;
+import com.peek.manager.TickScheduler;
 import com.peek.manager.constants.GameConstants;
 import com.peek.data.peek.PeekSession;
 import net.minecraft.server.MinecraftServer;
@@ -14,6 +15,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Utility class for checking and fixing state consistency issues
@@ -23,29 +26,74 @@ public class StateConsistencyChecker {
     private static int checksPerformed = 0;
     private static int issuesFixed = 0;
     
+    // Individual checks, in the order they run
+    private static final List<ToIntFunction<MinecraftServer>> CHECKS = List.of(
+        // Check 1: Verify session mappings are consistent
+        server -> checkSessionMappingConsistency(),
+        // Check 2: Verify players still exist for active sessions
+        StateConsistencyChecker::checkPlayerExistence,
+        // Check 3: Check for orphaned requests
+        StateConsistencyChecker::checkOrphanedRequests,
+        // Check 4: Verify session states
+        server -> checkSessionStates()
+    );
+    
     /**
      * Performs a comprehensive state consistency check
      * @param server The minecraft server instance
      * @return number of issues found and fixed
      */
     public static int performConsistencyCheck(MinecraftServer server) {
-        checksPerformed++;
+        beginCheck();
         int issuesFoundThisCheck = 0;
-        
+        for (ToIntFunction<MinecraftServer> check : CHECKS) {
+            issuesFoundThisCheck += check.applyAsInt(server);
+        }
+        finishCheck(issuesFoundThisCheck);
+        return issuesFoundThisCheck;
+    }
+    
+    /**
+     * Creates a consistency check that runs one check per step, so the scheduler can spread it over ticks
+     */
+    public static TickScheduler.SlicedWork incrementalCheck(Supplier<MinecraftServer> serverSupplier) {
+        return new TickScheduler.SlicedWork() {
+            private MinecraftServer server;
+            private int nextCheck;
+            private int issuesFound;
+            
+            @Override
+            public void beginPass() {
+                server = serverSupplier.get();
+                nextCheck = 0;
+                issuesFound = 0;
+                if (server != null) {
+                    beginCheck();
+                }
+            }
+            
+            @Override
+            public boolean step() {
+                if (server == null) {
+                    return false;
+                }
+                issuesFound += CHECKS.get(nextCheck++).applyAsInt(server);
+                if (nextCheck < CHECKS.size()) {
+                    return true;
+                }
+                finishCheck(issuesFound);
+                server = null;
+                return false;
+            }
+        };
+    }
+    
+    private static void beginCheck() {
+        checksPerformed++;
         PeekMod.LOGGER.debug("Starting state consistency check #{}", checksPerformed);
-        
-        // Check 1: Verify session mappings are consistent
-        issuesFoundThisCheck += checkSessionMappingConsistency();
-        
-        // Check 2: Verify players still exist for active sessions
-        issuesFoundThisCheck += checkPlayerExistence(server);
-        
-        // Check 3: Check for orphaned requests
-        issuesFoundThisCheck += checkOrphanedRequests(server);
-        
-        // Check 4: Verify session states
-        issuesFoundThisCheck += checkSessionStates();
-        
+    }
+    
+    private static void finishCheck(int issuesFoundThisCheck) {
         if (issuesFoundThisCheck > 0) {
             PeekMod.LOGGER.info("Consistency check #{} found and fixed {} issues", 
                 checksPerformed, issuesFoundThisCheck);
@@ -53,8 +101,6 @@ public class StateConsistencyChecker {
         } else {
             PeekMod.LOGGER.debug("Consistency check #{} found no issues", checksPerformed);
         }
-        
-        return issuesFoundThisCheck;
     }
     
     /**
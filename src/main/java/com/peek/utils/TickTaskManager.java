@@ -3,140 +3,311 @@ package com.peek.utils;
 import com.peek.PeekMod;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 
 /**
- * Unified tick-based task management system
+ * Unified tick-based task management system.
+ * <p>
+ * Tasks are kept in a two-level hierarchical timing wheel. The inner wheel has one slot per tick for the
+ * next {@value #INNER_SLOTS} ticks; the outer wheel has one slot per {@value #INNER_SLOTS} ticks, and its
+ * slot for the coming block is cascaded into the inner wheel when that block starts. Scheduling and
+ * cancelling are O(1), and each tick only touches the tasks that expire on it (plus the amortized cascade),
+ * so the per-tick cost does not grow with the number of pending tasks.
  */
 public class TickTaskManager {
-    
+    private static final int INNER_BITS = 8;
+    private static final int INNER_SLOTS = 1 << INNER_BITS;
+    private static final int INNER_MASK = INNER_SLOTS - 1;
+    private static final int OUTER_SLOTS = 64;
+    private static final int OUTER_MASK = OUTER_SLOTS - 1;
+
     /**
-     * Generic tick task
+     * Generic tick task. Also serves as the handle for cancelling it.
      */
     public static class TickTask {
         private final UUID taskId;
         private final String taskType;
-        private int remainingTicks;
+        private final long deadlineTick;
         private final Consumer<TickTask> onComplete;
-        
-        public TickTask(UUID taskId, String taskType, int remainingTicks, Consumer<TickTask> onComplete) {
+        private final TickTaskManager owner;
+        // Intrusive links within the wheel slot; guarded by the owner
+        private TickTask prev;
+        private TickTask next;
+        private TaskSlot slot;
+
+        private TickTask(TickTaskManager owner, UUID taskId, String taskType, long deadlineTick, Consumer<TickTask> onComplete) {
+            this.owner = owner;
             this.taskId = taskId;
             this.taskType = taskType;
-            this.remainingTicks = remainingTicks;
+            this.deadlineTick = deadlineTick;
             this.onComplete = onComplete;
         }
-        
-        public boolean tick() {
-            return --remainingTicks <= 0;
-        }
-        
+
         public UUID getTaskId() { return taskId; }
         public String getTaskType() { return taskType; }
-        public int getRemainingTicks() { return remainingTicks; }
-        public void executeCompletion() { 
+        public int getRemainingTicks() { return (int) Math.max(0, deadlineTick - owner.getCurrentTick()); }
+
+        /**
+         * Whether the task is still waiting to run
+         */
+        public boolean isPending() {
+            synchronized (owner) {
+                return slot != null;
+            }
+        }
+
+        /**
+         * Cancels the task if it has not run yet
+         * @return true if the task was pending and is now cancelled
+         */
+        public boolean cancel() {
+            return owner.cancel(this);
+        }
+
+        public void executeCompletion() {
             try {
-                onComplete.accept(this); 
+                onComplete.accept(this);
             } catch (Exception e) {
                 PeekMod.LOGGER.error("Error executing tick task completion for {} ({})", taskType, taskId, e);
             }
         }
     }
-    
-    private final List<TickTask> tasks = new ArrayList<>();
-    
+
     /**
-     * Add a new tick task
+     * Doubly-linked list of the tasks in one wheel slot, in insertion order
      */
-    public void addTask(UUID taskId, String taskType, int ticks, Consumer<TickTask> onComplete) {
-        synchronized (tasks) {
-            tasks.add(new TickTask(taskId, taskType, ticks, onComplete));
+    private static final class TaskSlot {
+        TickTask head;
+        TickTask tail;
+
+        void add(TickTask task) {
+            task.slot = this;
+            task.prev = tail;
+            task.next = null;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        void remove(TickTask task) {
+            if (task.prev == null) {
+                head = task.next;
+            } else {
+                task.prev.next = task.next;
+            }
+            if (task.next == null) {
+                tail = task.prev;
+            } else {
+                task.next.prev = task.prev;
+            }
+            task.prev = null;
+            task.next = null;
+            task.slot = null;
         }
     }
-    
+
+    private final TaskSlot[] inner = newSlots(INNER_SLOTS);
+    private final TaskSlot[] outer = newSlots(OUTER_SLOTS);
+    // Secondary indexes for bulk removal; a task is in both until it runs or is cancelled
+    private final Map<UUID, Set<TickTask>> tasksById = new HashMap<>();
+    private final Map<String, Set<TickTask>> tasksByType = new HashMap<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Add a new tick task; it runs on the {@code ticks}-th call to {@link #processTick()} from now
+     * (at least the next one)
+     * @return handle that can cancel the task
+     */
+    public synchronized TickTask addTask(UUID taskId, String taskType, int ticks, Consumer<TickTask> onComplete) {
+        TickTask task = new TickTask(this, taskId, taskType, currentTick + Math.max(1, ticks), onComplete);
+        place(task);
+        tasksById.computeIfAbsent(taskId, id -> new LinkedHashSet<>()).add(task);
+        tasksByType.computeIfAbsent(taskType, type -> new LinkedHashSet<>()).add(task);
+        size++;
+        return task;
+    }
+
+    /**
+     * Cancel a single task by its handle
+     * @return true if the task was pending and is now cancelled
+     */
+    public synchronized boolean cancel(TickTask task) {
+        if (task.owner != this || task.slot == null) {
+            return false;
+        }
+        unlink(task);
+        return true;
+    }
+
     /**
      * Remove tasks with specific ID
      */
-    public void removeTasksWithId(UUID taskId) {
-        synchronized (tasks) {
-            tasks.removeIf(task -> task.getTaskId().equals(taskId));
+    public synchronized void removeTasksWithId(UUID taskId) {
+        Set<TickTask> matching = tasksById.get(taskId);
+        if (matching != null) {
+            for (TickTask task : List.copyOf(matching)) {
+                unlink(task);
+            }
         }
     }
-    
+
     /**
      * Remove tasks with specific type
      */
-    public void removeTasksWithType(String taskType) {
-        synchronized (tasks) {
-            tasks.removeIf(task -> task.getTaskType().equals(taskType));
+    public synchronized void removeTasksWithType(String taskType) {
+        Set<TickTask> matching = tasksByType.get(taskType);
+        if (matching != null) {
+            for (TickTask task : List.copyOf(matching)) {
+                unlink(task);
+            }
         }
     }
-    
+
     /**
      * Process all tick tasks (call this every server tick)
      */
     public void processTick() {
-        if (tasks.isEmpty()) {
-            return;
-        }
-        
-        List<TickTask> tasksToProcess;
-        List<TickTask> completedTasks = new ArrayList<>();
-        
-        // Get a snapshot of current tasks to avoid concurrent modification
-        synchronized (tasks) {
-            tasksToProcess = new ArrayList<>(tasks);
-        }
-        
-        // Process tasks outside the synchronized block to avoid concurrent modification
-        for (TickTask task : tasksToProcess) {
-            if (task.tick()) {
-                task.executeCompletion();
-                completedTasks.add(task);
+        List<TickTask> expired;
+        synchronized (this) {
+            currentTick++;
+            if (size == 0) {
+                return;
             }
-        }
-        
-        // Remove completed tasks in a separate synchronized block
-        if (!completedTasks.isEmpty()) {
-            synchronized (tasks) {
-                tasks.removeAll(completedTasks);
+
+            if ((currentTick & INNER_MASK) == 0) {
+                cascade();
+            }
+
+            TaskSlot slot = inner[(int) (currentTick & INNER_MASK)];
+            if (slot.head == null) {
+                return;
+            }
+            expired = new ArrayList<>();
+            while (slot.head != null) {
+                TickTask task = slot.head;
+                unlink(task);
+                expired.add(task);
             }
         }
+
+        // Completions run outside the lock so they can schedule or cancel other tasks
+        for (TickTask task : expired) {
+            task.executeCompletion();
+        }
     }
-    
+
     /**
      * Get number of active tasks
      */
-    public int getActiveTaskCount() {
-        return tasks.size();
+    public synchronized int getActiveTaskCount() {
+        return size;
+    }
+
+    /**
+     * Number of times {@link #processTick()} has been called
+     */
+    public synchronized long getCurrentTick() {
+        return currentTick;
     }
-    
+
     /**
      * Clear all tasks
      */
-    public void clear() {
-        synchronized (tasks) {
-            tasks.clear();
+    public synchronized void clear() {
+        for (TaskSlot slot : inner) {
+            clearSlot(slot);
+        }
+        for (TaskSlot slot : outer) {
+            clearSlot(slot);
         }
+        tasksById.clear();
+        tasksByType.clear();
+        size = 0;
     }
-    
+
+    // Private helpers; callers hold the lock
+
+    private void place(TickTask task) {
+        if (task.deadlineTick - currentTick < INNER_SLOTS) {
+            inner[(int) (task.deadlineTick & INNER_MASK)].add(task);
+        } else {
+            // Tasks more than OUTER_SLOTS blocks away share a slot with nearer ones and are skipped
+            // by the cascade until their block comes around
+            outer[(int) ((task.deadlineTick >>> INNER_BITS) & OUTER_MASK)].add(task);
+        }
+    }
+
+    /**
+     * Moves tasks due in the block starting at the current tick from the outer wheel into the inner wheel
+     */
+    private void cascade() {
+        long block = currentTick >>> INNER_BITS;
+        TaskSlot slot = outer[(int) (block & OUTER_MASK)];
+        TickTask task = slot.head;
+        while (task != null) {
+            TickTask following = task.next;
+            if ((task.deadlineTick >>> INNER_BITS) == block) {
+                slot.remove(task);
+                inner[(int) (task.deadlineTick & INNER_MASK)].add(task);
+            }
+            task = following;
+        }
+    }
+
+    private void unlink(TickTask task) {
+        task.slot.remove(task);
+        removeFromIndex(tasksById, task.taskId, task);
+        removeFromIndex(tasksByType, task.taskType, task);
+        size--;
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<TickTask>> index, K key, TickTask task) {
+        Set<TickTask> tasks = index.get(key);
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static void clearSlot(TaskSlot slot) {
+        while (slot.head != null) {
+            slot.remove(slot.head);
+        }
+    }
+
+    private static TaskSlot[] newSlots(int count) {
+        TaskSlot[] slots = new TaskSlot[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = new TaskSlot();
+        }
+        return slots;
+    }
+
     // Static instance and methods for convenience
     private static final TickTaskManager INSTANCE = new TickTaskManager();
-    
+
     /**
      * Get the global instance
      */
     public static TickTaskManager getInstance() {
         return INSTANCE;
     }
-    
+
     /**
      * Schedule a delayed task with a simple Runnable
      */
-    public static void scheduleDelayedTask(Runnable task, int delayTicks) {
+    public static TickTask scheduleDelayedTask(Runnable task, int delayTicks) {
         UUID taskId = UUID.randomUUID();
-        INSTANCE.addTask(taskId, "delayed_task", delayTicks, (tickTask) -> {
+        return INSTANCE.addTask(taskId, "delayed_task", delayTicks, (tickTask) -> {
             try {
                 task.run();
             } catch (Exception e) {
@@ -144,4 +315,4 @@ public class TickTaskManager {
             }
         });
     }
-}
\ No newline at end of file
+}
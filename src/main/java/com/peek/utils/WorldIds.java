@@ -0,0 +1,74 @@
+package com.peek.utils;
+
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-way registry between world registry keys and the stable world ids stored in sessions and saved player states.
+ * <p>
+ * An id is the name-based UUID of the world's identifier, the same value saved states have always used, so
+ * persisted ids stay valid. It is computed once per world when the world loads instead of hashing the
+ * identifier on every lookup.
+ */
+public final class WorldIds {
+    private static final Map<RegistryKey<World>, UUID> IDS = new ConcurrentHashMap<>();
+    private static final Map<UUID, RegistryKey<World>> KEYS = new ConcurrentHashMap<>();
+
+    private WorldIds() {}
+
+    /**
+     * Registers a world; called when the world loads
+     */
+    public static void register(ServerWorld world) {
+        getId(world.getRegistryKey());
+    }
+
+    /**
+     * Gets the stable id of a world
+     */
+    public static UUID getId(World world) {
+        return getId(world.getRegistryKey());
+    }
+
+    /**
+     * Gets the stable id of a world key, registering the key if it was not loaded through {@link #register}
+     */
+    public static UUID getId(RegistryKey<World> key) {
+        UUID id = IDS.get(key);
+        if (id == null) {
+            id = IDS.computeIfAbsent(key, WorldIds::computeId);
+            KEYS.putIfAbsent(id, key);
+        }
+        return id;
+    }
+
+    /**
+     * Finds the loaded world with the given id
+     * @return the world, or null if no loaded world has that id
+     */
+    @Nullable
+    public static ServerWorld getWorld(MinecraftServer server, UUID id) {
+        RegistryKey<World> key = KEYS.get(id);
+        return key != null ? server.getWorld(key) : null;
+    }
+
+    /**
+     * Forgets all worlds; called when the server has stopped
+     */
+    public static void clear() {
+        IDS.clear();
+        KEYS.clear();
+    }
+
+    private static UUID computeId(RegistryKey<World> key) {
+        return UUID.nameUUIDFromBytes(key.getValue().toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package com.peek.utils.collection;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of time buckets, each holding an event count and a summed amount.
+ * <p>
+ * Buckets are addressed by an absolute bucket number (for example hours since the epoch). Slot
+ * {@code bucket % capacity} is reused once the ring wraps, so a bucket older than {@code capacity}
+ * is forgotten on the next write to its slot and ignored by reads. Recording and summing a window
+ * never allocate and cost at most {@code capacity} steps, independent of how many events were recorded.
+ * Bucket numbers and per-bucket counts are stored as ints to keep many small rings cheap.
+ * Not thread-safe.
+ */
+public final class BucketRing {
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    /** Sum of a window of buckets */
+    public record Totals(long count, long amount) {
+        public static final Totals ZERO = new Totals(0, 0);
+    }
+
+    /**
+     * Occupied buckets as parallel arrays, for compact storage
+     * @param base bucket number of the first element
+     * @param counts count of bucket {@code base + i}, 0 where the bucket is empty
+     * @param amounts amount of bucket {@code base + i}
+     */
+    public record Packed(long base, int[] counts, long[] amounts) {
+        public static final Packed EMPTY_RING = new Packed(0, new int[0], new long[0]);
+    }
+
+    private final int[] buckets;
+    private final int[] counts;
+    private final long[] amounts;
+
+    public BucketRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.buckets = new int[capacity];
+        this.counts = new int[capacity];
+        this.amounts = new long[capacity];
+        Arrays.fill(buckets, EMPTY);
+    }
+
+    public int capacity() {
+        return buckets.length;
+    }
+
+    /**
+     * Adds to a bucket. Writes to a bucket that has already rotated out of the ring are dropped.
+     */
+    public void add(long bucket, long count, long amount) {
+        int slot = slot(bucket);
+        if (buckets[slot] != bucket) {
+            if (buckets[slot] != EMPTY && buckets[slot] > bucket) {
+                return;
+            }
+            buckets[slot] = (int) bucket;
+            counts[slot] = 0;
+            amounts[slot] = 0;
+        }
+        counts[slot] += count;
+        amounts[slot] += amount;
+    }
+
+    /**
+     * Sums the {@code window} buckets ending at {@code currentBucket}, inclusive
+     */
+    public Totals sum(long currentBucket, int window) {
+        int span = Math.min(window, buckets.length);
+        long count = 0;
+        long amount = 0;
+        for (long bucket = currentBucket - span + 1; bucket <= currentBucket; bucket++) {
+            int slot = slot(bucket);
+            if (buckets[slot] == bucket) {
+                count += counts[slot];
+                amount += amounts[slot];
+            }
+        }
+        return new Totals(count, amount);
+    }
+
+    /**
+     * Forgets the buckets that have rotated out of the window of {@code capacity} buckets ending at
+     * {@code currentBucket}; they are already ignored by reads, this frees them for storage
+     */
+    public void expire(long currentBucket) {
+        long oldest = currentBucket - buckets.length + 1;
+        for (int slot = 0; slot < buckets.length; slot++) {
+            if (buckets[slot] != EMPTY && buckets[slot] < oldest) {
+                buckets[slot] = EMPTY;
+                counts[slot] = 0;
+                amounts[slot] = 0;
+            }
+        }
+    }
+
+    /**
+     * Whether no bucket is occupied
+     */
+    public boolean isEmpty() {
+        for (int bucket : buckets) {
+            if (bucket != EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs the occupied buckets into arrays running from the oldest to the newest bucket
+     */
+    public Packed pack() {
+        long newest = Long.MIN_VALUE;
+        for (int bucket : buckets) {
+            if (bucket != EMPTY) {
+                newest = Math.max(newest, bucket);
+            }
+        }
+        if (newest == Long.MIN_VALUE) {
+            return Packed.EMPTY_RING;
+        }
+
+        // Occupied slots always hold distinct buckets, but only the newest capacity of them are in reach
+        long base = newest;
+        for (int bucket : buckets) {
+            if (bucket != EMPTY && bucket > newest - buckets.length) {
+                base = Math.min(base, bucket);
+            }
+        }
+        int length = (int) (newest - base + 1);
+        int[] packedCounts = new int[length];
+        long[] packedAmounts = new long[length];
+        for (int slot = 0; slot < buckets.length; slot++) {
+            if (buckets[slot] != EMPTY && buckets[slot] >= base) {
+                packedCounts[(int) (buckets[slot] - base)] = counts[slot];
+                packedAmounts[(int) (buckets[slot] - base)] = amounts[slot];
+            }
+        }
+        return new Packed(base, packedCounts, packedAmounts);
+    }
+
+    /**
+     * Rebuilds a ring from {@link #pack()} output; buckets beyond the capacity keep only the newest
+     */
+    public static BucketRing unpack(int capacity, Packed packed) {
+        BucketRing ring = new BucketRing(capacity);
+        int length = Math.min(packed.counts().length, packed.amounts().length);
+        for (int i = 0; i < length; i++) {
+            if (packed.counts()[i] != 0 || packed.amounts()[i] != 0) {
+                ring.add(packed.base() + i, packed.counts()[i], packed.amounts()[i]);
+            }
+        }
+        return ring;
+    }
+
+    public BucketRing copy() {
+        BucketRing copy = new BucketRing(buckets.length);
+        System.arraycopy(buckets, 0, copy.buckets, 0, buckets.length);
+        System.arraycopy(counts, 0, copy.counts, 0, counts.length);
+        System.arraycopy(amounts, 0, copy.amounts, 0, amounts.length);
+        return copy;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
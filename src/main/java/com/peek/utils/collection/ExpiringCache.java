@@ -0,0 +1,138 @@
+package com.peek.utils.collection;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded cache whose entries expire a fixed time after they were written.
+ * Entries are kept in write order, so expired entries are always at the head and are
+ * evicted a few at a time during normal reads and writes; no background task or
+ * per-entry timer is needed.
+ */
+public final class ExpiringCache<K, V> {
+    
+    private record Timed<V>(V value, long expiresAtNanos) {}
+    
+    /** Snapshot of the cache counters */
+    public record Stats(long hits, long misses, long evictions, int size, int maxSize) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total : 0.0;
+        }
+    }
+    
+    // Upper bound on expired entries dropped per access, to keep each call cheap
+    private static final int MAX_EXPIRED_PER_ACCESS = 8;
+    
+    private final LinkedHashMap<K, Timed<V>> entries = new LinkedHashMap<>();
+    private final int maxSize;
+    private final LongSupplier ttlNanos;
+    private final LongSupplier clock;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    /**
+     * @param maxSize maximum number of entries; the oldest entry is evicted when exceeded
+     * @param ttlNanos time-to-live, read on every write so config reloads take effect
+     */
+    public ExpiringCache(int maxSize, LongSupplier ttlNanos) {
+        this(maxSize, ttlNanos, System::nanoTime);
+    }
+    
+    public ExpiringCache(int maxSize, LongSupplier ttlNanos, LongSupplier clock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+    
+    /**
+     * Returns the cached value, or computes, caches and returns it on a miss
+     */
+    public synchronized V get(K key, Function<? super K, ? extends V> loader) {
+        long now = clock.getAsLong();
+        expireHead(now);
+        
+        Timed<V> timed = entries.get(key);
+        if (timed != null) {
+            if (timed.expiresAtNanos() - now > 0) {
+                hits++;
+                return timed.value();
+            }
+            entries.remove(key);
+            evictions++;
+        }
+        
+        misses++;
+        V value = loader.apply(key);
+        if (value != null) {
+            put(key, value, now);
+        }
+        return value;
+    }
+    
+    /**
+     * Returns the cached value, or {@code null} on a miss; for callers that compute the value without holding
+     * the cache lock and {@link #put} it afterwards
+     */
+    public synchronized V getIfPresent(K key) {
+        long now = clock.getAsLong();
+        expireHead(now);
+        
+        Timed<V> timed = entries.get(key);
+        if (timed != null) {
+            if (timed.expiresAtNanos() - now > 0) {
+                hits++;
+                return timed.value();
+            }
+            entries.remove(key);
+            evictions++;
+        }
+        misses++;
+        return null;
+    }
+    
+    public synchronized void put(K key, V value) {
+        put(key, value, clock.getAsLong());
+    }
+    
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+    
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+    
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), maxSize);
+    }
+    
+    private void put(K key, V value, long now) {
+        // Re-insert so the entry moves to the tail of the write order
+        entries.remove(key);
+        entries.put(key, new Timed<>(value, now + ttlNanos.getAsLong()));
+        
+        while (entries.size() > maxSize) {
+            Iterator<Map.Entry<K, Timed<V>>> it = entries.entrySet().iterator();
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+    
+    private void expireHead(long now) {
+        Iterator<Map.Entry<K, Timed<V>>> it = entries.entrySet().iterator();
+        for (int i = 0; i < MAX_EXPIRED_PER_ACCESS && it.hasNext(); i++) {
+            if (it.next().getValue().expiresAtNanos() - now > 0) {
+                return;
+            }
+            it.remove();
+            evictions++;
+        }
+    }
+}
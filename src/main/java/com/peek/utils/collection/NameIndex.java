@@ -0,0 +1,149 @@
+package com.peek.utils.collection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Case-insensitive index of player names supporting prefix and substring lookups.
+ * Prefix lookups walk a sorted map and cost O(log n + k). For substring lookups every distinct substring of
+ * one to three characters maps to the names containing it, sorted by name: patterns of up to three characters
+ * are answered straight from that map in O(k), and longer ones only check the names sharing their rarest
+ * trigram. Adding or removing a name costs O(length * log n).
+ * All results are returned in case-insensitive name order. Not thread-safe.
+ */
+public final class NameIndex {
+    
+    private static final int MAX_GRAM = 3;
+    
+    private record Entry(UUID id, String folded, String sortKey) {}
+    
+    private final NavigableMap<String, Entry> byName = new TreeMap<>();
+    private final Map<UUID, Entry> byId = new HashMap<>();
+    // Substring of up to MAX_GRAM characters -> names containing it, keyed by sort key
+    private final Map<String, NavigableMap<String, Entry>> grams = new HashMap<>();
+    
+    public int size() {
+        return byId.size();
+    }
+    
+    /**
+     * Indexes or re-indexes a player name
+     */
+    public void put(UUID id, String name) {
+        String folded = fold(name);
+        Entry existing = byId.get(id);
+        if (existing != null) {
+            if (existing.folded().equals(folded)) {
+                return;
+            }
+            remove(id);
+        }
+        
+        Entry entry = new Entry(id, folded, folded + '\u0000' + id);
+        byId.put(id, entry);
+        byName.put(entry.sortKey(), entry);
+        forEachGram(folded, gram -> grams.computeIfAbsent(gram, g -> new TreeMap<>()).put(entry.sortKey(), entry));
+    }
+    
+    public void remove(UUID id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) {
+            return;
+        }
+        byName.remove(entry.sortKey());
+        forEachGram(entry.folded(), gram -> {
+            NavigableMap<String, Entry> postings = grams.get(gram);
+            if (postings != null) {
+                postings.remove(entry.sortKey());
+                if (postings.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Finds names starting with the given prefix, skipping the first {@code offset} matches
+     */
+    public List<UUID> findByPrefix(String prefix, int offset, int limit) {
+        String folded = fold(prefix);
+        List<UUID> result = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+        int skipped = 0;
+        for (Entry entry : byName.tailMap(folded, true).values()) {
+            if (!entry.folded().startsWith(folded) || result.size() >= limit) {
+                break;
+            }
+            if (skipped++ >= offset) {
+                result.add(entry.id());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Finds all names containing the given pattern
+     */
+    public List<UUID> findContaining(String pattern) {
+        String folded = fold(pattern);
+        List<UUID> result = new ArrayList<>();
+        
+        if (folded.isEmpty()) {
+            byName.values().forEach(entry -> result.add(entry.id()));
+            return result;
+        }
+        
+        if (folded.length() <= MAX_GRAM) {
+            // Every name containing a short pattern is indexed under it, so there is nothing left to check
+            NavigableMap<String, Entry> postings = grams.get(folded);
+            if (postings != null) {
+                postings.values().forEach(entry -> result.add(entry.id()));
+            }
+            return result;
+        }
+        
+        // Only names containing every trigram of the pattern can match; start from the rarest
+        NavigableMap<String, Entry> rarest = null;
+        for (int i = 0; i + MAX_GRAM <= folded.length(); i++) {
+            NavigableMap<String, Entry> postings = grams.get(folded.substring(i, i + MAX_GRAM));
+            if (postings == null) {
+                return result;
+            }
+            if (rarest == null || postings.size() < rarest.size()) {
+                rarest = postings;
+            }
+        }
+        
+        // Postings are already in name order
+        for (Entry entry : rarest.values()) {
+            if (entry.folded().contains(folded)) {
+                result.add(entry.id());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Visits each distinct substring of one to {@link #MAX_GRAM} characters of a name once
+     */
+    private static void forEachGram(String folded, Consumer<String> action) {
+        for (int length = 1; length <= MAX_GRAM; length++) {
+            for (int i = 0; i + length <= folded.length(); i++) {
+                String gram = folded.substring(i, i + length);
+                if (folded.indexOf(gram) == i) {
+                    action.accept(gram);
+                }
+            }
+        }
+    }
+    
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
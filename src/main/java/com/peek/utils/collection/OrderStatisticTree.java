@@ -0,0 +1,166 @@
+package com.peek.utils.collection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted set with rank-based access, backed by a size-augmented treap.
+ * Insert and remove are O(log n); reading {@code limit} keys starting at rank {@code offset}
+ * is O(log n + limit), which makes paging through a large ranking cheap.
+ * Keys must not change their ordering while stored; remove and re-add them instead.
+ * Not thread-safe.
+ */
+public final class OrderStatisticTree<K> {
+    
+    private static final class Node<K> {
+        final K key;
+        final int priority;
+        int size = 1;
+        Node<K> left;
+        Node<K> right;
+        
+        Node(K key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+    
+    private final Comparator<? super K> comparator;
+    private Node<K> root;
+    
+    public OrderStatisticTree(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+    
+    public int size() {
+        return size(root);
+    }
+    
+    public boolean isEmpty() {
+        return root == null;
+    }
+    
+    public void clear() {
+        root = null;
+    }
+    
+    /**
+     * Adds a key. Keys comparing equal to an existing key are stored side by side.
+     */
+    public void add(K key) {
+        root = insert(root, new Node<>(key, ThreadLocalRandom.current().nextInt()));
+    }
+    
+    /**
+     * Removes one key comparing equal to the given key
+     * @return true if a key was removed
+     */
+    public boolean remove(K key) {
+        int before = size(root);
+        root = delete(root, key);
+        return size(root) < before;
+    }
+    
+    /**
+     * Returns up to {@code limit} keys in sorted order, starting at rank {@code offset} (0-based)
+     */
+    public List<K> range(int offset, int limit) {
+        List<K> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        if (offset >= 0 && limit > 0) {
+            collect(root, offset, limit, result);
+        }
+        return result;
+    }
+    
+    private void collect(Node<K> node, int offset, int limit, List<K> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (offset < leftSize) {
+            collect(node.left, offset, limit, out);
+        }
+        if (out.size() >= limit) {
+            return;
+        }
+        if (offset <= leftSize) {
+            out.add(node.key);
+        }
+        collect(node.right, Math.max(0, offset - leftSize - 1), limit, out);
+    }
+    
+    private Node<K> insert(Node<K> node, Node<K> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (comparator.compare(inserted.key, node.key) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+    
+    private Node<K> delete(Node<K> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp < 0) {
+            node.left = delete(node.left, key);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, key);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, key);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, key);
+            }
+        }
+        update(node);
+        return node;
+    }
+    
+    private Node<K> rotateRight(Node<K> node) {
+        Node<K> pivot = node.left;
+        node.left = pivot.right;
+        update(node);
+        pivot.right = node;
+        update(pivot);
+        return pivot;
+    }
+    
+    private Node<K> rotateLeft(Node<K> node) {
+        Node<K> pivot = node.right;
+        node.right = pivot.left;
+        update(node);
+        pivot.left = node;
+        update(pivot);
+        return pivot;
+    }
+    
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+    
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -1,9 +1,8 @@
 package com.peek.utils.compat;
 
 import net.minecraft.particle.DustParticleEffect;
+import net.minecraft.network.packet.s2c.play.ParticleS2CPacket;
 import net.minecraft.particle.ParticleEffect;
-import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.server.world.ServerWorld;
 
 #if MC_VER <= 1212
 import org.joml.Vector3f;
@@ -16,29 +15,27 @@ import org.joml.Vector3f;
 public class ParticleCompat {
     
     /**
-     * Spawns particles using the appropriate method signature for each version.
+     * Creates a single particle packet that spawns {@code count} particles spread around a point.
+     * The client offsets each particle by a gaussian scaled by the deltas and gives it a random velocity
+     * scaled by {@code speed}.
      * 
-     * @param world The server world
-     * @param player The target player
      * @param particle The particle effect to spawn
-     * @param x X coordinate
-     * @param y Y coordinate
-     * @param z Z coordinate
-     * @param count Number of particles
-     * @param velocityX X velocity
-     * @param velocityY Y velocity
-     * @param velocityZ Z velocity
+     * @param x X coordinate of the center
+     * @param y Y coordinate of the center
+     * @param z Z coordinate of the center
+     * @param deltaX Spread along X
+     * @param deltaY Spread along Y
+     * @param deltaZ Spread along Z
      * @param speed Particle speed modifier
+     * @param count Number of particles
+     * @return the packet, which can be sent to any number of players
      */
-    public static void spawnParticles(ServerWorld world, ServerPlayerEntity player, ParticleEffect particle,
-                                    double x, double y, double z, int count, 
-                                    double velocityX, double velocityY, double velocityZ, double speed) {
+    public static ParticleS2CPacket createParticlePacket(ParticleEffect particle, double x, double y, double z,
+                                                         float deltaX, float deltaY, float deltaZ, float speed, int count) {
         #if MC_VER >= 1214
-        // 1.21.4+ uses the 12-parameter version with boolean flags
-        world.spawnParticles(player, particle, false, false, x, y, z, count, velocityX, velocityY, velocityZ, speed);
+        return new ParticleS2CPacket(particle, false, false, x, y, z, deltaX, deltaY, deltaZ, speed, count);
         #else
-        // 1.21.2 and earlier use the 11-parameter version without boolean flags
-        world.spawnParticles(player, particle, false, x, y, z, count, velocityX, velocityY, velocityZ, speed);
+        return new ParticleS2CPacket(particle, false, x, y, z, deltaX, deltaY, deltaZ, speed, count);
         #endif
     }
     
@@ -0,0 +1,96 @@
+package com.peek.data;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.registry.DynamicRegistryManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodecDataStorageTest {
+    private record Sample(UUID id, Instant updated, Map<String, Long> counts) {
+        static final Codec<Sample> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            StorageCodecs.UUID_CODEC.fieldOf("id").forGetter(Sample::id),
+            StorageCodecs.INSTANT_CODEC.fieldOf("updated").forGetter(Sample::updated),
+            Codec.unboundedMap(Codec.STRING, Codec.LONG).fieldOf("counts").forGetter(Sample::counts)
+        ).apply(instance, Sample::new));
+    }
+
+    private static final CodecDataStorage<Sample> STORAGE = new CodecDataStorage<>("sample", Sample.CODEC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savesAndLoadsEveryFormat() {
+        for (DataStorageFormat format : DataStorageFormat.values()) {
+            Sample sample = sample(format.ordinal());
+            assertTrue(STORAGE.save(target(format), sample));
+            assertEquals(sample, STORAGE.load(target(format)), format.name());
+        }
+    }
+
+    @Test
+    void switchingFormatsBackAndForthKeepsLatestData() throws IOException {
+        assertTrue(STORAGE.save(target(DataStorageFormat.JSON), sample(1)));
+
+        assertEquals(sample(1), STORAGE.load(target(DataStorageFormat.NBT)));
+        assertEquals(List.of("sample.json.migrated", "sample.nbt"), files());
+        assertTrue(STORAGE.save(target(DataStorageFormat.NBT), sample(2)));
+
+        assertEquals(sample(2), STORAGE.load(target(DataStorageFormat.JSON)));
+        assertEquals(List.of("sample.json", "sample.json.migrated", "sample.nbt.migrated"), files());
+        assertTrue(STORAGE.save(target(DataStorageFormat.JSON), sample(3)));
+
+        // Without moving the NBT file aside this would load sample 2 again
+        assertEquals(sample(3), STORAGE.load(target(DataStorageFormat.NBT)));
+        assertTrue(STORAGE.save(target(DataStorageFormat.NBT), sample(4)));
+        assertEquals(sample(4), STORAGE.load(target(DataStorageFormat.NBT)));
+        assertFalse(Files.exists(directory.resolve("sample.json")));
+    }
+
+    @Test
+    void migrationRemovesOldBackup() throws IOException {
+        CodecDataStorage.Target json = new CodecDataStorage.Target(directory, DynamicRegistryManager.EMPTY,
+            DataStorageFormat.JSON, true);
+        assertTrue(STORAGE.save(json, sample(1)));
+        assertTrue(STORAGE.save(json, sample(2)));
+        assertTrue(Files.exists(directory.resolve("sample.json.bak")));
+
+        assertEquals(sample(2), STORAGE.load(target(DataStorageFormat.NBT_COMPRESSED)));
+        assertEquals(List.of("sample.dat", "sample.json.migrated"), files());
+    }
+
+    @Test
+    void missingFilesLoadAsNull() {
+        assertNull(STORAGE.load(target(DataStorageFormat.JSON)));
+    }
+
+    private CodecDataStorage.Target target(DataStorageFormat format) {
+        return new CodecDataStorage.Target(directory, DynamicRegistryManager.EMPTY, format, false);
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static Sample sample(long version) {
+        return new Sample(new UUID(7, version), Instant.ofEpochMilli(1_700_000_000_000L + version),
+            Map.of("sessions", version, "seconds", version * 60));
+    }
+}
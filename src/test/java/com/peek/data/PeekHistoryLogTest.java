@@ -0,0 +1,156 @@
+package com.peek.data;
+
+import com.peek.data.peek.PeekHistoryEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeekHistoryLogTest {
+    // Smallest allowed segment size
+    private static final long SEGMENT_BYTES = 4096;
+    private static final UUID ALICE = new UUID(0, 1);
+    private static final UUID BOB = new UUID(0, 2);
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private PeekHistoryLog log;
+
+    @AfterEach
+    void closeLog() {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    @Test
+    void readsPagesNewestFirstAndSurvivesReopen() throws IOException {
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        for (int i = 0; i < 5; i++) {
+            log.append(ALICE, entry(i, START.plusSeconds(i)));
+        }
+        log.append(BOB, entry(99, START));
+
+        assertEquals(List.of(4L, 3L), durations(log.read(ALICE, 0, 2)));
+        assertEquals(List.of(0L), durations(log.read(ALICE, 2, 2)));
+        assertEquals(List.of(), log.read(ALICE, 3, 2));
+
+        log.close();
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        assertEquals(5, log.count(ALICE));
+        assertEquals(1, log.count(BOB));
+        assertEquals(List.of(4L, 3L, 2L, 1L, 0L), durations(log.read(ALICE, 0, 10)));
+        assertEquals(PeekHistoryEntry.PeekType.WAS_PEEKED, log.read(ALICE, 0, 1).get(0).type());
+    }
+
+    @Test
+    void tornTailOfNewestSegmentIsTruncated() throws IOException {
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        for (int i = 0; i < 3; i++) {
+            log.append(ALICE, entry(i, START));
+        }
+        log.close();
+        Path segment = segments().get(0);
+        long intactSize = Files.size(segment);
+        appendTornRecord(segment);
+
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        assertEquals(3, log.count(ALICE));
+        assertEquals(intactSize, Files.size(segment));
+
+        log.append(ALICE, entry(3, START));
+        log.close();
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        assertEquals(List.of(3L, 2L, 1L, 0L), durations(log.read(ALICE, 0, 10)));
+    }
+
+    @Test
+    void damagedOlderSegmentIsLeftUntouched() throws IOException {
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        int firstSegmentRecords = fillSegments(ALICE, 2, START);
+        log.close();
+        Path older = segments().get(0);
+        appendTornRecord(older);
+        long damagedSize = Files.size(older);
+
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        assertEquals(damagedSize, Files.size(older));
+        assertEquals(firstSegmentRecords + 1, log.count(ALICE));
+    }
+
+    @Test
+    void retentionDeletesExpiredAndSurplusSegmentsButNeverTheNewest() throws IOException {
+        log = PeekHistoryLog.open(directory, SEGMENT_BYTES);
+        int perSegment = fillSegments(ALICE, 2, START);
+        fillSegments(BOB, 4, START.plusSeconds(3600));
+        int total = log.count(ALICE) + log.count(BOB);
+        assertEquals(4, segments().size());
+
+        // Only the first segment holds nothing newer than the cutoff
+        assertEquals(1, log.applyRetention(START.plusSeconds(1), 0));
+        assertEquals(3, segments().size());
+        assertEquals(total - perSegment, log.count(ALICE) + log.count(BOB));
+
+        assertEquals(1, log.applyRetention(START, 2));
+        assertEquals(2, segments().size());
+
+        assertEquals(1, log.applyRetention(START.plusSeconds(86_400), 0));
+        assertEquals(1, segments().size());
+        assertEquals(0, log.count(ALICE));
+        assertTrue(log.count(BOB) > 0);
+        assertFalse(log.read(BOB, 0, 1).isEmpty());
+    }
+
+    /**
+     * Appends records until the log has the given number of segments
+     * @return number of records that fit into one segment
+     */
+    private int fillSegments(UUID playerId, int segmentCount, Instant timestamp) throws IOException {
+        int firstSegment = segments().size();
+        int appended = 0;
+        int perSegment = 0;
+        while (segments().size() < segmentCount) {
+            log.append(playerId, entry(appended++, timestamp));
+            if (perSegment == 0 && segments().size() > Math.max(1, firstSegment)) {
+                perSegment = appended - 1;
+            }
+        }
+        return perSegment;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /** Writes a length prefix whose payload never made it to disk */
+    private static void appendTornRecord(Path segment) throws IOException {
+        ByteBuffer partial = ByteBuffer.allocate(Integer.BYTES + 10).putInt(100);
+        Files.write(segment, partial.array(), StandardOpenOption.APPEND);
+    }
+
+    private static PeekHistoryEntry entry(long duration, Instant timestamp) {
+        return new PeekHistoryEntry(new UUID(1, duration), BOB, "Bob",
+            PeekHistoryEntry.PeekType.WAS_PEEKED, timestamp, duration, false);
+    }
+
+    private static List<Long> durations(List<PeekHistoryEntry> entries) {
+        return entries.stream().map(PeekHistoryEntry::durationSeconds).toList();
+    }
+}
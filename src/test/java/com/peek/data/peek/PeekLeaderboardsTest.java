@@ -0,0 +1,53 @@
+package com.peek.data.peek;
+
+import com.peek.manager.constants.PeekConstants.SortType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PeekLeaderboardsTest {
+
+    @Test
+    void ranksByScoreAndUpdatesAfterRemoveAndAdd() {
+        PeekLeaderboards leaderboards = new PeekLeaderboards();
+        UUID alice = new UUID(0, 1);
+        UUID bob = new UUID(0, 2);
+        Instant now = Instant.now();
+        PlayerPeekCounters aliceCounters = PlayerPeekCounters.create("Alice", now);
+        PlayerPeekCounters bobCounters = PlayerPeekCounters.create("bob", now);
+        bobCounters.recordPeek(10, now);
+        leaderboards.add(alice, aliceCounters);
+        leaderboards.add(bob, bobCounters);
+
+        assertEquals(List.of(bob, alice), leaderboards.range(SortType.PEEK_COUNT, 0, 10));
+
+        leaderboards.remove(alice, aliceCounters);
+        aliceCounters.recordPeek(5, now);
+        aliceCounters.recordPeek(5, now);
+        leaderboards.add(alice, aliceCounters);
+
+        assertEquals(List.of(alice, bob), leaderboards.range(SortType.PEEK_COUNT, 0, 10));
+        assertEquals(List.of(bob), leaderboards.range(SortType.PEEK_COUNT, 1, 10));
+        assertEquals(List.of(alice, bob), leaderboards.range(SortType.PLAYER_NAME, 0, 10));
+    }
+
+    @Test
+    void playerWithoutNameSortsFirstByName() {
+        PeekLeaderboards leaderboards = new PeekLeaderboards();
+        UUID named = new UUID(0, 1);
+        UUID unnamed = new UUID(0, 2);
+        Instant now = Instant.now();
+        leaderboards.add(named, PlayerPeekCounters.create("Alice", now));
+        PlayerPeekCounters unnamedCounters = PlayerPeekCounters.create(null, now);
+        leaderboards.add(unnamed, unnamedCounters);
+
+        assertEquals(List.of(unnamed, named), leaderboards.range(SortType.PLAYER_NAME, 0, 10));
+
+        leaderboards.remove(unnamed, unnamedCounters);
+        assertEquals(List.of(named), leaderboards.range(SortType.PLAYER_NAME, 0, 10));
+    }
+}
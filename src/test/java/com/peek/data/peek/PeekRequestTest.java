@@ -0,0 +1,55 @@
+package com.peek.data.peek;
+
+import com.peek.utils.PeekClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeekRequestTest {
+    private static final long START = 5_000;
+
+    @BeforeEach
+    void setClock() {
+        PeekClock.setTick(START);
+    }
+
+    @AfterEach
+    void resetClock() {
+        PeekClock.setTick(0);
+    }
+
+    @Test
+    void expiresOnTheTickItsTimeoutEnds() {
+        PeekRequest request = new PeekRequest(new UUID(0, 1), new UUID(0, 2), "requester", "target", 30);
+
+        assertFalse(request.isExpired());
+        assertEquals(30, request.getRemainingSeconds());
+
+        PeekClock.setTick(START + 599);
+        assertFalse(request.isExpired());
+        assertTrue(request.canAccept());
+        assertEquals(1, request.getRemainingSeconds());
+
+        PeekClock.setTick(START + 600);
+        assertTrue(request.isExpired());
+        assertFalse(request.canAccept());
+        assertFalse(request.canDeny());
+        assertTrue(request.canCancel());
+        assertEquals(0, request.getRemainingSeconds());
+    }
+
+    @Test
+    void onlyPendingRequestsExpire() {
+        PeekRequest request = new PeekRequest(new UUID(0, 1), new UUID(0, 2), "requester", "target", 1);
+        request.setStatus(PeekRequest.RequestStatus.ACCEPTED);
+
+        PeekClock.setTick(START + 1_000);
+        assertFalse(request.isExpired());
+    }
+}
@@ -0,0 +1,80 @@
+package com.peek.data.peek;
+
+import com.peek.manager.constants.PeekConstants.StatsPeriod;
+import com.peek.utils.collection.BucketRing;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeekRollupsTest {
+    private static final Instant NOW = Instant.parse("2024-01-10T12:30:00Z");
+
+    private static PeekRollups sample() {
+        PeekRollups rollups = PeekRollups.create();
+        rollups.record(NOW.minus(Duration.ofHours(1)), 1);
+        rollups.record(NOW.minus(Duration.ofHours(23)), 2);
+        rollups.record(NOW.minus(Duration.ofHours(25)), 4);
+        rollups.record(NOW.minus(Duration.ofDays(6)), 8);
+        rollups.record(NOW.minus(Duration.ofDays(20)), 16);
+        rollups.record(NOW.minus(Duration.ofDays(40)), 32);
+        return rollups;
+    }
+
+    @Test
+    void periodsSumTheirBuckets() {
+        PeekRollups rollups = sample();
+
+        assertEquals(new BucketRing.Totals(2, 3), rollups.getTotals(StatsPeriod.LAST_24_HOURS, NOW));
+        assertEquals(new BucketRing.Totals(4, 15), rollups.getTotals(StatsPeriod.LAST_7_DAYS, NOW));
+        assertEquals(new BucketRing.Totals(5, 31), rollups.getTotals(StatsPeriod.LAST_30_DAYS, NOW));
+    }
+
+    @Test
+    void windowsMoveAcrossHourAndDayGaps() {
+        PeekRollups rollups = sample();
+
+        // The 1h-old session leaves the hourly window 23 hours later, at the start of its hour
+        assertEquals(new BucketRing.Totals(1, 1),
+            rollups.getTotals(StatsPeriod.LAST_24_HOURS, Instant.parse("2024-01-11T10:59:59Z")));
+        assertEquals(BucketRing.Totals.ZERO,
+            rollups.getTotals(StatsPeriod.LAST_24_HOURS, Instant.parse("2024-01-11T11:00:00Z")));
+
+        Instant twoDaysLater = NOW.plus(Duration.ofDays(2));
+        assertEquals(new BucketRing.Totals(3, 7), rollups.getTotals(StatsPeriod.LAST_7_DAYS, twoDaysLater));
+        assertEquals(new BucketRing.Totals(5, 31), rollups.getTotals(StatsPeriod.LAST_30_DAYS, twoDaysLater));
+        assertEquals(new BucketRing.Totals(4, 15),
+            rollups.getTotals(StatsPeriod.LAST_30_DAYS, Instant.parse("2024-01-20T00:00:00Z")));
+    }
+
+    @Test
+    void recordingAfterALongGapReplacesOldBuckets() {
+        PeekRollups rollups = sample();
+        Instant later = NOW.plus(Duration.ofDays(30));
+
+        rollups.record(later, 64);
+
+        assertEquals(new BucketRing.Totals(1, 64), rollups.getTotals(StatsPeriod.LAST_24_HOURS, later));
+        assertEquals(new BucketRing.Totals(1, 64), rollups.getTotals(StatsPeriod.LAST_30_DAYS, later));
+        // Sessions recorded for the old time are now outside the ring
+        rollups.record(NOW, 128);
+        assertEquals(new BucketRing.Totals(1, 64), rollups.getTotals(StatsPeriod.LAST_30_DAYS, later));
+    }
+
+    @Test
+    void expireEmptiesRollupsWithOnlyOldSessions() {
+        PeekRollups rollups = sample();
+
+        rollups.expire(NOW.plus(Duration.ofDays(10)));
+        assertFalse(rollups.isEmpty());
+        assertEquals(new BucketRing.Totals(4, 15),
+            rollups.getTotals(StatsPeriod.LAST_30_DAYS, NOW.plus(Duration.ofDays(10))));
+
+        rollups.expire(NOW.plus(Duration.ofDays(30)));
+        assertTrue(rollups.isEmpty());
+    }
+}
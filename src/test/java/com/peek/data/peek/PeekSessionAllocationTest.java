@@ -0,0 +1,61 @@
+package com.peek.data.peek;
+
+import net.minecraft.util.math.Vec3d;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the per-check session tracking path (position update, squared distance and speed) allocates
+ * nothing once warmed up, by measuring the bytes the test thread allocates around a loop of updates
+ */
+class PeekSessionAllocationTest {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+    // Covers the measurement calls themselves; a single Vec3d or Instant per update would be ~24 MB
+    private static final long ALLOWED_BYTES = 64 * 1024;
+
+    private final Vec3d[] targetPositions = new Vec3d[64];
+    private final Vec3d[] peekerPositions = new Vec3d[64];
+    private double sink;
+
+    @Test
+    void steadyStateUpdatesAllocateNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < targetPositions.length; i++) {
+            targetPositions[i] = new Vec3d(i, 64, i * 2);
+            peekerPositions[i] = new Vec3d(i + 3, 65, i * 2 - 4);
+        }
+        UUID worldId = new UUID(0, 1);
+        PeekSession session = new PeekSession(new UUID(0, 2), new UUID(0, 3), "peeker", "target", null, worldId);
+
+        runChecks(session, worldId, 0, WARMUP_ITERATIONS);
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        runChecks(session, worldId, WARMUP_ITERATIONS, MEASURED_ITERATIONS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < ALLOWED_BYTES,
+            allocated + " bytes allocated over " + MEASURED_ITERATIONS + " updates");
+        assertEquals(3 * 3 + 1 + 4 * 4, session.getSquaredDistanceFromTarget(), 0.0);
+        assertTrue(sink != 0);
+    }
+
+    private void runChecks(PeekSession session, UUID worldId, int firstTick, int iterations) {
+        double total = 0;
+        for (int i = 0; i < iterations; i++) {
+            int slot = i & (targetPositions.length - 1);
+            session.updatePositions(targetPositions[slot], worldId, peekerPositions[slot], firstTick + i);
+            total += session.getSquaredDistanceFromTarget() + session.getRecentSpeed();
+        }
+        sink += total;
+    }
+}
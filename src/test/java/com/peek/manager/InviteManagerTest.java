@@ -0,0 +1,61 @@
+package com.peek.manager;
+
+import com.peek.utils.PeekClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InviteManagerTest {
+    private static final UUID INVITER = new UUID(0, 1);
+    private static final UUID INVITEE = new UUID(0, 2);
+    private static final long START = 200;
+
+    private final InviteManager invites = new InviteManager();
+
+    @BeforeEach
+    void setClock() {
+        PeekClock.setTick(START);
+    }
+
+    @AfterEach
+    void resetClock() {
+        PeekClock.setTick(0);
+    }
+
+    @Test
+    void inviteIsActiveUntilItsExpirationTick() {
+        invites.addInvite(INVITER, INVITEE, PeekClock.deadlineAfterSeconds(5));
+
+        assertTrue(invites.hasActiveInvite(INVITER, INVITEE));
+        assertFalse(invites.hasActiveInvite(INVITEE, INVITER));
+
+        PeekClock.setTick(START + 99);
+        assertTrue(invites.hasActiveInvite(INVITER, INVITEE));
+
+        PeekClock.setTick(START + 100);
+        assertFalse(invites.hasActiveInvite(INVITER, INVITEE));
+
+        // Expired invites are dropped, so moving the clock back does not revive them
+        PeekClock.setTick(START);
+        assertFalse(invites.hasActiveInvite(INVITER, INVITEE));
+    }
+
+    @Test
+    void cleanupAgreesWithHasActiveInvite() {
+        UUID other = new UUID(0, 3);
+        invites.addInvite(INVITER, INVITEE, START + 20);
+        invites.addInvite(INVITER, other, START + 40);
+
+        PeekClock.setTick(START + 20);
+        invites.cleanupExpiredInvites();
+        // Step back a tick: only cleanup can have removed the first invite
+        PeekClock.setTick(START + 19);
+        assertFalse(invites.hasActiveInvite(INVITER, INVITEE));
+        assertTrue(invites.hasActiveInvite(INVITER, other));
+    }
+}
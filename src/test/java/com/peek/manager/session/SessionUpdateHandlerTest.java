@@ -0,0 +1,46 @@
+package com.peek.manager.session;
+
+import com.peek.data.peek.PeekSession;
+import com.peek.manager.constants.GameConstants;
+import com.peek.utils.PeekClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionUpdateHandlerTest {
+
+    @AfterEach
+    void resetClock() {
+        PeekClock.setTick(0);
+    }
+
+    @Test
+    void gracePeriodEndsAfterExactlyItsTicks() {
+        long start = 12_345;
+        PeekClock.setTick(start);
+        PeekSession session = new PeekSession(new UUID(0, 1), new UUID(0, 2), "peeker", "target", null, new UUID(0, 3));
+
+        assertTrue(SessionUpdateHandler.isInGracePeriod(session, start));
+        assertTrue(SessionUpdateHandler.isInGracePeriod(session, start + GameConstants.SESSION_CHECK_GRACE_TICKS - 1));
+        assertFalse(SessionUpdateHandler.isInGracePeriod(session, start + GameConstants.SESSION_CHECK_GRACE_TICKS));
+    }
+
+    @Test
+    void gracePeriodFollowsTicksNotWallClock() throws InterruptedException {
+        PeekClock.setTick(0);
+        PeekSession session = new PeekSession(new UUID(0, 1), new UUID(0, 2), "peeker", "target", null, new UUID(0, 3));
+
+        // A stalled server: real time passes but no tick does
+        Thread.sleep(50);
+        assertTrue(SessionUpdateHandler.isInGracePeriod(session, PeekClock.now()));
+
+        for (int i = 0; i < GameConstants.SESSION_CHECK_GRACE_TICKS; i++) {
+            PeekClock.advance();
+        }
+        assertFalse(SessionUpdateHandler.isInGracePeriod(session, PeekClock.now()));
+    }
+}
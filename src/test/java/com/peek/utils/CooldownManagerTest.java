@@ -0,0 +1,80 @@
+package com.peek.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooldownManagerTest {
+    private static final UUID PLAYER = new UUID(0, 1);
+    private static final long START = 1_000;
+
+    private final CooldownManager cooldowns = new CooldownManager(true);
+
+    @BeforeEach
+    void setClock() {
+        PeekClock.setTick(START);
+    }
+
+    @AfterEach
+    void resetClock() {
+        PeekClock.setTick(0);
+    }
+
+    @Test
+    void peekCooldownEndsExactlyAfterItsTicks() {
+        cooldowns.setCooldown(PLAYER, 3);
+
+        assertTrue(cooldowns.isOnCooldown(PLAYER));
+        assertEquals(3, cooldowns.getRemainingCooldown(PLAYER));
+
+        PeekClock.setTick(START + 1);
+        assertEquals(3, cooldowns.getRemainingCooldown(PLAYER));
+        PeekClock.setTick(START + 40);
+        assertEquals(1, cooldowns.getRemainingCooldown(PLAYER));
+
+        PeekClock.setTick(START + 59);
+        assertTrue(cooldowns.isOnCooldown(PLAYER));
+        assertEquals(1, cooldowns.getRemainingCooldown(PLAYER));
+
+        PeekClock.setTick(START + 60);
+        assertFalse(cooldowns.isOnCooldown(PLAYER));
+        assertEquals(0, cooldowns.getRemainingCooldown(PLAYER));
+    }
+
+    @Test
+    void inviteCooldownIsSeparateFromPeekCooldown() {
+        cooldowns.setInviteCooldown(PLAYER, 1);
+
+        assertFalse(cooldowns.isOnCooldown(PLAYER));
+        assertTrue(cooldowns.isOnInviteCooldown(PLAYER));
+
+        PeekClock.setTick(START + 19);
+        assertTrue(cooldowns.isOnInviteCooldown(PLAYER));
+        PeekClock.setTick(START + 20);
+        assertFalse(cooldowns.isOnInviteCooldown(PLAYER));
+    }
+
+    @Test
+    void cleanupDropsCooldownsWhenTheyEnd() {
+        cooldowns.setCooldown(PLAYER, 1);
+        cooldowns.setInviteCooldown(PLAYER, 2);
+
+        PeekClock.setTick(START + 19);
+        cooldowns.cleanupExpiredCooldowns();
+        assertEquals(2, cooldowns.getActiveCooldownCount());
+
+        PeekClock.setTick(START + 20);
+        cooldowns.cleanupExpiredCooldowns();
+        assertEquals(1, cooldowns.getActiveCooldownCount());
+
+        PeekClock.setTick(START + 40);
+        cooldowns.cleanupExpiredCooldowns();
+        assertEquals(0, cooldowns.getActiveCooldownCount());
+    }
+}
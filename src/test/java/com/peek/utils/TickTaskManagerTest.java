@@ -0,0 +1,117 @@
+package com.peek.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickTaskManagerTest {
+    // Around the inner wheel (256 ticks) and outer wheel (64 * 256 ticks) boundaries
+    private static final int[] DELAYS = {1, 2, 255, 256, 257, 511, 512, 513, 16_383, 16_384, 16_385, 16_384 + 256, 40_000};
+
+    @Test
+    void tasksRunExactlyOnTheirDeadline() {
+        for (int start : new int[] {0, 1, 100, 255, 256, 16_383}) {
+            TickTaskManager manager = new TickTaskManager();
+            advance(manager, start);
+
+            Map<Long, List<Long>> firedAt = new HashMap<>();
+            for (int delay : DELAYS) {
+                long deadline = start + delay;
+                manager.addTask(UUID.randomUUID(), "test", delay,
+                    task -> firedAt.computeIfAbsent(deadline, d -> new ArrayList<>()).add(manager.getCurrentTick()));
+            }
+            assertEquals(DELAYS.length, manager.getActiveTaskCount());
+
+            advance(manager, 40_000);
+
+            assertEquals(0, manager.getActiveTaskCount());
+            for (int delay : DELAYS) {
+                long deadline = start + delay;
+                assertEquals(List.of(deadline), firedAt.get(deadline), "start " + start + ", delay " + delay);
+            }
+        }
+    }
+
+    @Test
+    void nonPositiveDelayRunsOnNextTick() {
+        TickTaskManager manager = new TickTaskManager();
+        List<Long> firedAt = new ArrayList<>();
+        manager.addTask(UUID.randomUUID(), "test", 0, task -> firedAt.add(manager.getCurrentTick()));
+        manager.addTask(UUID.randomUUID(), "test", -5, task -> firedAt.add(manager.getCurrentTick()));
+
+        manager.processTick();
+        assertEquals(List.of(1L, 1L), firedAt);
+    }
+
+    @Test
+    void cancelledTasksDoNotRun() {
+        TickTaskManager manager = new TickTaskManager();
+        advance(manager, 200);
+        List<String> fired = new ArrayList<>();
+        TickTaskManager.TickTask innerTask = manager.addTask(UUID.randomUUID(), "test", 10, task -> fired.add("inner"));
+        TickTaskManager.TickTask outerTask = manager.addTask(UUID.randomUUID(), "test", 1_000, task -> fired.add("outer"));
+        TickTaskManager.TickTask kept = manager.addTask(UUID.randomUUID(), "test", 1_000, task -> fired.add("kept"));
+
+        assertTrue(innerTask.cancel());
+        assertFalse(innerTask.cancel());
+        assertFalse(innerTask.isPending());
+        // Cancel after the outer task was cascaded into the inner wheel
+        advance(manager, 900);
+        assertTrue(outerTask.isPending());
+        assertEquals(100, outerTask.getRemainingTicks());
+        assertTrue(manager.cancel(outerTask));
+        assertEquals(1, manager.getActiveTaskCount());
+
+        advance(manager, 100);
+        assertEquals(List.of("kept"), fired);
+        assertFalse(kept.isPending());
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    void removesTasksByIdAndType() {
+        TickTaskManager manager = new TickTaskManager();
+        UUID player = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        List<String> fired = new ArrayList<>();
+        manager.addTask(player, "request", 5, task -> fired.add("player request"));
+        manager.addTask(player, "follow", 5_000, task -> fired.add("player follow"));
+        manager.addTask(other, "request", 300, task -> fired.add("other request"));
+        manager.addTask(other, "follow", 20, task -> fired.add("other follow"));
+
+        manager.removeTasksWithId(player);
+        assertEquals(2, manager.getActiveTaskCount());
+        manager.removeTasksWithType("request");
+        assertEquals(1, manager.getActiveTaskCount());
+
+        advance(manager, 6_000);
+        assertEquals(List.of("other follow"), fired);
+    }
+
+    @Test
+    void completionsCanScheduleFurtherTasks() {
+        TickTaskManager manager = new TickTaskManager();
+        List<Long> firedAt = new ArrayList<>();
+        manager.addTask(UUID.randomUUID(), "test", 256, task -> {
+            firedAt.add(manager.getCurrentTick());
+            manager.addTask(UUID.randomUUID(), "test", 256, next -> firedAt.add(manager.getCurrentTick()));
+        });
+
+        advance(manager, 1_000);
+        assertEquals(List.of(256L, 512L), firedAt);
+    }
+
+    private static void advance(TickTaskManager manager, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            manager.processTick();
+        }
+    }
+}
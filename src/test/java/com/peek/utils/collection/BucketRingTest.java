@@ -0,0 +1,103 @@
+package com.peek.utils.collection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BucketRingTest {
+
+    @Test
+    void sumsOnlyBucketsInsideTheWindow() {
+        BucketRing ring = new BucketRing(24);
+        ring.add(100, 1, 10);
+        ring.add(100, 1, 5);
+        ring.add(110, 1, 7);
+
+        assertEquals(new BucketRing.Totals(3, 22), ring.sum(110, 24));
+        assertEquals(new BucketRing.Totals(1, 7), ring.sum(110, 10));
+        assertEquals(new BucketRing.Totals(2, 15), ring.sum(100, 1));
+        // A window longer than the ring is capped at its capacity
+        assertEquals(new BucketRing.Totals(3, 22), ring.sum(110, 100));
+    }
+
+    @Test
+    void wrappingReusesSlotsAndDropsStaleWrites() {
+        BucketRing ring = new BucketRing(24);
+        ring.add(100, 1, 10);
+        ring.add(101, 1, 20);
+
+        // Bucket 124 shares a slot with bucket 100
+        ring.add(124, 1, 30);
+        assertEquals(new BucketRing.Totals(2, 50), ring.sum(124, 24));
+
+        ring.add(100, 1, 1000);
+        assertEquals(new BucketRing.Totals(2, 50), ring.sum(124, 24));
+    }
+
+    @Test
+    void longGapForgetsEverything() {
+        BucketRing ring = new BucketRing(24);
+        ring.add(100, 1, 10);
+        ring.add(123, 1, 10);
+
+        assertEquals(new BucketRing.Totals(1, 10), ring.sum(146, 24));
+        assertEquals(BucketRing.Totals.ZERO, ring.sum(147, 24));
+        assertEquals(BucketRing.Totals.ZERO, ring.sum(100_000, 24));
+
+        ring.add(100_000, 1, 3);
+        assertEquals(new BucketRing.Totals(1, 3), ring.sum(100_000, 24));
+    }
+
+    @Test
+    void expireClearsRotatedOutBuckets() {
+        BucketRing ring = new BucketRing(4);
+        ring.add(10, 1, 1);
+        ring.add(12, 1, 1);
+
+        ring.expire(13);
+        assertFalse(ring.isEmpty());
+        assertEquals(new BucketRing.Totals(2, 2), ring.sum(13, 4));
+
+        ring.expire(14);
+        assertEquals(new BucketRing.Totals(1, 1), ring.sum(14, 4));
+
+        ring.expire(16);
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void packRoundTripsReachableBuckets() {
+        BucketRing ring = new BucketRing(4);
+        ring.add(0, 5, 50);
+        ring.add(10, 1, 7);
+        ring.add(8, 2, 3);
+
+        // Bucket 0 is out of reach of bucket 10 and is left out
+        BucketRing.Packed packed = ring.pack();
+        assertEquals(8, packed.base());
+        assertArrayEquals(new int[] {2, 0, 1}, packed.counts());
+        assertArrayEquals(new long[] {3, 0, 7}, packed.amounts());
+
+        BucketRing restored = BucketRing.unpack(4, packed);
+        assertEquals(ring.sum(10, 4), restored.sum(10, 4));
+        assertEquals(new BucketRing.Totals(3, 10), restored.sum(10, 4));
+
+        assertSame(BucketRing.Packed.EMPTY_RING, new BucketRing(4).pack());
+        assertTrue(BucketRing.unpack(4, BucketRing.Packed.EMPTY_RING).isEmpty());
+    }
+
+    @Test
+    void unpackIntoSmallerRingKeepsNewestBuckets() {
+        BucketRing ring = new BucketRing(8);
+        for (int bucket = 0; bucket < 8; bucket++) {
+            ring.add(bucket, 1, bucket);
+        }
+
+        BucketRing smaller = BucketRing.unpack(4, ring.pack());
+        assertEquals(new BucketRing.Totals(4, 4 + 5 + 6 + 7), smaller.sum(7, 4));
+    }
+}
@@ -0,0 +1,129 @@
+package com.peek.utils.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExpiringCacheTest {
+    private static final long TTL = 1_000;
+
+    private final AtomicLong clock = new AtomicLong(Long.MAX_VALUE - 1_500);
+    private final List<String> loads = new ArrayList<>();
+    private final Function<String, String> loader = key -> {
+        loads.add(key);
+        return key.toUpperCase();
+    };
+
+    private ExpiringCache<String, String> cache(int maxSize) {
+        return new ExpiringCache<>(maxSize, () -> TTL, clock::get);
+    }
+
+    @Test
+    void hitsUntilTheTtlElapses() {
+        // The clock starts near Long.MAX_VALUE so the deadline overflows, as System.nanoTime may
+        ExpiringCache<String, String> cache = cache(10);
+
+        assertEquals("A", cache.get("a", loader));
+        clock.addAndGet(TTL - 1);
+        assertEquals("A", cache.get("a", loader));
+        assertEquals(List.of("a"), loads);
+
+        clock.incrementAndGet();
+        assertEquals("A", cache.get("a", loader));
+        assertEquals(List.of("a", "a"), loads);
+
+        ExpiringCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.evictions());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnOtherAccesses() {
+        ExpiringCache<String, String> cache = cache(10);
+        cache.get("a", loader);
+        cache.get("b", loader);
+        clock.addAndGet(TTL / 2);
+        cache.get("c", loader);
+
+        clock.addAndGet(TTL / 2);
+        cache.get("c", loader);
+
+        // a and b expired and were swept from the head; c is still fresh
+        assertEquals(1, cache.stats().size());
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    void evictsOldestWriteWhenFull() {
+        ExpiringCache<String, String> cache = cache(2);
+        cache.get("a", loader);
+        cache.get("b", loader);
+        // A hit does not refresh the write order, so a is still the oldest
+        cache.get("a", loader);
+        cache.get("c", loader);
+
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+        cache.get("b", loader);
+        cache.get("c", loader);
+        cache.get("a", loader);
+        assertEquals(List.of("a", "b", "c", "a"), loads);
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        ExpiringCache<String, String> cache = cache(10);
+        cache.get("a", loader);
+        cache.get("b", loader);
+
+        cache.invalidate("a");
+        cache.get("a", loader);
+        cache.get("b", loader);
+        assertEquals(List.of("a", "b", "a"), loads);
+
+        cache.invalidateAll();
+        assertEquals(0, cache.stats().size());
+        cache.get("b", loader);
+        assertEquals(List.of("a", "b", "a", "b"), loads);
+    }
+
+    @Test
+    void nullValuesAreNotCached() {
+        ExpiringCache<String, String> cache = cache(10);
+        List<String> calls = new ArrayList<>();
+
+        assertNull(cache.get("a", key -> { calls.add(key); return null; }));
+        assertNull(cache.get("a", key -> { calls.add(key); return null; }));
+        assertEquals(2, calls.size());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void getIfPresentSeesPutValuesUntilTheyExpire() {
+        ExpiringCache<String, String> cache = cache(10);
+
+        assertNull(cache.getIfPresent("a"));
+        cache.put("a", "A");
+        assertEquals("A", cache.getIfPresent("a"));
+        assertEquals("A", cache.get("a", loader));
+        assertEquals(List.of(), loads);
+
+        clock.addAndGet(TTL);
+        assertNull(cache.getIfPresent("a"));
+
+        ExpiringCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.evictions());
+        assertEquals(0, stats.size());
+    }
+}
@@ -0,0 +1,141 @@
+package com.peek.utils.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameIndexTest {
+    private static final UUID ALEX = new UUID(0, 1);
+    private static final UUID ALICE = new UUID(0, 2);
+    private static final UUID BOB = new UUID(0, 3);
+    private static final UUID MALLORY = new UUID(0, 4);
+
+    private static NameIndex sample() {
+        NameIndex index = new NameIndex();
+        index.put(BOB, "Bob");
+        index.put(ALICE, "Alice");
+        index.put(MALLORY, "mallory");
+        index.put(ALEX, "ALEX");
+        return index;
+    }
+
+    @Test
+    void prefixLookupIgnoresCaseAndKeepsNameOrder() {
+        NameIndex index = sample();
+
+        assertEquals(List.of(ALEX, ALICE), index.findByPrefix("al", 0, 10));
+        assertEquals(List.of(ALICE), index.findByPrefix("AL", 1, 10));
+        assertEquals(List.of(ALEX), index.findByPrefix("al", 0, 1));
+        assertEquals(List.of(), index.findByPrefix("z", 0, 10));
+        assertEquals(4, index.findByPrefix("", 0, 10).size());
+    }
+
+    @Test
+    void substringLookupUsesTrigramsAndShortPatterns() {
+        NameIndex index = sample();
+
+        assertEquals(List.of(ALICE), index.findContaining("lic"));
+        assertEquals(List.of(MALLORY), index.findContaining("LLOR"));
+        assertEquals(List.of(ALEX, ALICE, MALLORY), index.findContaining("l"));
+        assertEquals(List.of(ALICE), index.findContaining("Li"));
+        assertEquals(List.of(), index.findContaining("xyz"));
+        assertEquals(List.of(ALEX, ALICE, BOB, MALLORY), index.findContaining(""));
+    }
+
+    @Test
+    void shortPatternsStayExactAfterRemovals() {
+        NameIndex index = sample();
+
+        assertEquals(List.of(ALEX, ALICE, MALLORY), index.findContaining("AL"));
+        index.remove(ALEX);
+        assertEquals(List.of(ALICE, MALLORY), index.findContaining("al"));
+        index.put(ALICE, "Bea");
+        assertEquals(List.of(MALLORY), index.findContaining("al"));
+        assertEquals(List.of(ALICE), index.findContaining("e"));
+
+        index.remove(ALICE);
+        index.remove(MALLORY);
+        assertEquals(List.of(), index.findContaining("al"));
+        assertEquals(List.of(BOB), index.findContaining("o"));
+    }
+
+    @Test
+    void renameAndRemoveUpdateAllLookups() {
+        NameIndex index = sample();
+
+        index.put(BOB, "Alfred");
+        assertEquals(List.of(ALEX, BOB, ALICE), index.findByPrefix("al", 0, 10));
+        assertEquals(List.of(), index.findContaining("bob"));
+
+        index.remove(ALICE);
+        assertEquals(List.of(ALEX, BOB), index.findByPrefix("al", 0, 10));
+        assertEquals(List.of(), index.findContaining("lic"));
+        assertEquals(3, index.size());
+
+        // Freed slots are reused without mixing up entries
+        UUID carol = new UUID(0, 5);
+        index.put(carol, "Carolice");
+        assertEquals(List.of(carol), index.findContaining("lic"));
+    }
+
+    @Test
+    void nullNameIsIndexedAsEmpty() {
+        NameIndex index = sample();
+        UUID unnamed = new UUID(0, 6);
+
+        index.put(unnamed, null);
+        assertEquals(List.of(unnamed, ALEX), index.findByPrefix("", 0, 2));
+        assertEquals(List.of(), index.findContaining("nul"));
+
+        index.remove(unnamed);
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void matchesLinearScanForRandomNames() {
+        Random random = new Random(7);
+        NameIndex index = new NameIndex();
+        List<UUID> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int length = 3 + random.nextInt(8); length > 0; length--) {
+                name.append((char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(4)));
+            }
+            UUID id = new UUID(1, i);
+            ids.add(id);
+            names.add(name.toString());
+            index.put(id, name.toString());
+        }
+
+        // Removed names must drop out of every posting
+        for (int i = 0; i < names.size(); i += 3) {
+            index.remove(ids.get(i));
+            names.set(i, null);
+        }
+
+        for (String pattern : List.of("a", "ab", "abc", "BCD", "dada", "ca", "d", "DC")) {
+            String folded = pattern.toLowerCase(Locale.ROOT);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i) != null && names.get(i).toLowerCase(Locale.ROOT).contains(folded)) {
+                    expected.add(i);
+                }
+            }
+            expected.sort((a, b) -> {
+                int byName = names.get(a).toLowerCase(Locale.ROOT).compareTo(names.get(b).toLowerCase(Locale.ROOT));
+                return byName != 0 ? byName : ids.get(a).toString().compareTo(ids.get(b).toString());
+            });
+            List<UUID> expectedIds = new ArrayList<>();
+            expected.forEach(i -> expectedIds.add(ids.get(i)));
+
+            assertEquals(expectedIds, index.findContaining(pattern), pattern);
+        }
+    }
+}
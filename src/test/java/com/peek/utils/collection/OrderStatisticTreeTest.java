@@ -0,0 +1,83 @@
+package com.peek.utils.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void rangeMatchesSortedListUnderRandomAddsAndRemoves() {
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int key = random.nextInt(500);
+                tree.add(key);
+                expected.add(key);
+            } else {
+                Integer key = expected.get(random.nextInt(expected.size()));
+                assertTrue(tree.remove(key));
+                expected.remove(key);
+            }
+
+            if (step % 50 == 0) {
+                expected.sort(Comparator.naturalOrder());
+                assertEquals(expected.size(), tree.size());
+                int offset = random.nextInt(expected.size() + 1);
+                int limit = random.nextInt(40);
+                assertEquals(expected.subList(offset, Math.min(expected.size(), offset + limit)), tree.range(offset, limit));
+            }
+        }
+
+        expected.sort(Comparator.naturalOrder());
+        assertEquals(expected, tree.range(0, expected.size()));
+    }
+
+    @Test
+    void selectReturnsKeyAtEveryRank() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        for (int key = 0; key < 200; key++) {
+            tree.add((key * 37) % 200);
+        }
+
+        for (int rank = 0; rank < 200; rank++) {
+            assertEquals(List.of(199 - rank), tree.range(rank, 1));
+        }
+    }
+
+    @Test
+    void duplicatesAreStoredAndRemovedOneAtATime() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        tree.add("b");
+        tree.add("a");
+        tree.add("b");
+
+        assertEquals(List.of("a", "b", "b"), tree.range(0, 10));
+        assertTrue(tree.remove("b"));
+        assertEquals(List.of("a", "b"), tree.range(0, 10));
+        assertFalse(tree.remove("c"));
+    }
+
+    @Test
+    void outOfRangeRequestsReturnEmpty() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        tree.add(1);
+        tree.add(2);
+
+        assertEquals(List.of(), tree.range(2, 5));
+        assertEquals(List.of(), tree.range(0, 0));
+        tree.clear();
+        assertTrue(tree.isEmpty());
+        assertEquals(List.of(), tree.range(0, 5));
+    }
+}